@@ -0,0 +1,175 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class AllocationCheck {
+    private static final GravityDir[] DIRECTIONS = GravityDir.values();
+
+    private interface Replay {
+        void start(LevelData level);
+
+        void tick(Script script);
+    }
+
+    // Replays the same seeded input script on every level, first through WorldSimulation.step alone
+    // and then through GamePanel's IN_GAME tick (effects, sounds, rewind recording, toasts), without a
+    // window. Each level is replayed until one replay allocates nothing, since the JVM charges the odd
+    // few bytes to this thread while it is still compiling; a path that really allocates never gets
+    // there and fails. After that every measured replay must allocate nothing. Run it with -Xbatch
+    // -XX:-UseOnStackReplacement -XX:-DoEscapeAnalysis (see README) so compiler activity is not counted
+    // and nothing passes only because escape analysis removed it. Exit code 1 on allocation, 2 if the JVM cannot count bytes.
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int maxWarmupRuns = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int measuredRuns = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean counter) || !counter.isThreadAllocatedMemorySupported()) {
+            System.out.println("Thread allocation counting is not supported by this JVM");
+            System.exit(2);
+            return;
+        }
+        counter.setThreadAllocatedMemoryEnabled(true);
+        List<String> jvmArgs = ManagementFactory.getRuntimeMXBean().getInputArguments();
+        if (!jvmArgs.contains("-Xbatch") || !jvmArgs.contains("-XX:-UseOnStackReplacement")
+                || !jvmArgs.contains("-XX:-DoEscapeAnalysis")) {
+            System.out.println("Without -Xbatch -XX:-UseOnStackReplacement -XX:-DoEscapeAnalysis the JIT can charge stray bytes to a replay");
+        }
+
+        LevelManager levelManager = new LevelManager();
+        List<LevelData> levels = new ArrayList<>();
+        for (int i = 0; i < levelManager.getLevelCount(); i++) {
+            levels.add(levelManager.getLevel(i));
+        }
+        levels.addAll(levelManager.loadFixtures());
+
+        WorldSimulation world = new WorldSimulation();
+        InputFrame input = new InputFrame();
+        Replay stepReplay = new Replay() {
+            @Override
+            public void start(LevelData level) {
+                world.loadLevel(level);
+            }
+
+            @Override
+            public void tick(Script script) {
+                input.setLeft(script.left);
+                input.setRight(script.right);
+                input.setJump(script.jump);
+                input.setSprint(script.sprint);
+                input.setGravityRequest(script.gravity);
+                world.step(input);
+            }
+        };
+
+        // Deterministic settings reseed the effect and audio streams on every load, so each replay
+        // spawns the same particles and sounds; every effect is on and the volume is not muted.
+        Settings settings = new Settings();
+        settings.setDeterministic(true);
+        settings.setSeed(seed);
+        GamePanel panel = new GamePanel(settings);
+        Replay tickReplay = new Replay() {
+            @Override
+            public void start(LevelData level) {
+                panel.startHeadlessRun(level);
+            }
+
+            @Override
+            public void tick(Script script) {
+                panel.setHeldKeys(script.left, script.right, script.jump, script.sprint);
+                panel.requestGravity(script.gravity);
+                panel.tick(GameLoop.TICK_SECONDS);
+            }
+        };
+
+        // One unmeasured pass over every level first, so the early levels are not measured while the
+        // JIT is still working through code that only later levels reach.
+        for (int l = 0; l < levels.size(); l++) {
+            long scriptSeed = seed * 0x9E3779B97F4A7C15L + l;
+            replay(counter, levels.get(l), stepReplay, scriptSeed, ticks);
+            replay(counter, levels.get(l), tickReplay, scriptSeed, ticks);
+        }
+
+        int failures = 0;
+        for (int l = 0; l < levels.size(); l++) {
+            LevelData level = levels.get(l);
+            long scriptSeed = seed * 0x9E3779B97F4A7C15L + l;
+            if (!measure(counter, level, "step", stepReplay, scriptSeed, ticks, maxWarmupRuns, measuredRuns)) {
+                failures++;
+            }
+            if (!measure(counter, level, "tick", tickReplay, scriptSeed, ticks, maxWarmupRuns, measuredRuns)) {
+                failures++;
+            }
+        }
+        if (failures > 0) {
+            System.out.println(failures + " replay set(s) allocated");
+            System.exit(1);
+        }
+        System.out.println("No allocations in step() or the IN_GAME tick");
+    }
+
+    private static boolean measure(com.sun.management.ThreadMXBean counter, LevelData level, String label, Replay replay,
+                                   long scriptSeed, int ticks, int maxWarmupRuns, int measuredRuns) {
+        int warmups = 0;
+        long bytes;
+        do {
+            bytes = replay(counter, level, replay, scriptSeed, ticks);
+            warmups++;
+        } while (bytes > 0 && warmups < maxWarmupRuns);
+        if (bytes > 0) {
+            System.out.printf("%-24s %-4s %8d B over %d ticks, still allocating after %d replays%n",
+                    level.getName(), label, bytes, ticks, warmups);
+            return false;
+        }
+        long worst = 0;
+        for (int run = 0; run < measuredRuns; run++) {
+            worst = Math.max(worst, replay(counter, level, replay, scriptSeed, ticks));
+        }
+        System.out.printf("%-24s %-4s %8d B worst of %d replays over %d ticks (%d warm-up)%n",
+                level.getName(), label, worst, measuredRuns, ticks, warmups);
+        return worst == 0;
+    }
+
+    private static long replay(com.sun.management.ThreadMXBean counter, LevelData level, Replay replay, long scriptSeed, int ticks) {
+        replay.start(level);
+        Script script = new Script(scriptSeed);
+        long before = counter.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ticks; i++) {
+            script.advance();
+            replay.tick(script);
+        }
+        return counter.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    // Same input script as BatchSimulator; a finished level keeps ticking so every replay runs the
+    // full tick count.
+    private static final class Script {
+        private final SplittableRandom random;
+        private int holdTicks;
+        boolean left;
+        boolean right;
+        boolean jump;
+        boolean sprint;
+        GravityDir gravity;
+
+        Script(long seed) {
+            random = new SplittableRandom(seed);
+        }
+
+        void advance() {
+            if (holdTicks-- <= 0) {
+                holdTicks = 10 + random.nextInt(80);
+                int move = random.nextInt(5);
+                left = move == 0;
+                right = move >= 3;
+                sprint = random.nextInt(3) == 0;
+            }
+            jump = random.nextInt(12) == 0 || (jump && random.nextInt(4) != 0);
+            gravity = random.nextInt(240) == 0 ? DIRECTIONS[random.nextInt(DIRECTIONS.length)] : null;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class BatchSimulator {
+    private static final GravityDir[] DIRECTIONS = GravityDir.values();
+
+    private final List<LevelData> levels;
+    private final int instancesPerLevel;
+    private final int ticks;
+    private final long seed;
+    private final long[] finalHashes;
+    private final int[] deaths;
+    private final int[] ticksRun;
+    private final boolean[] completed;
+
+    public BatchSimulator(List<LevelData> levels, int instancesPerLevel, int ticks, long seed) {
+        this.levels = levels;
+        this.instancesPerLevel = instancesPerLevel;
+        this.ticks = ticks;
+        this.seed = seed;
+        int jobs = levels.size() * instancesPerLevel;
+        finalHashes = new long[jobs];
+        deaths = new int[jobs];
+        ticksRun = new int[jobs];
+        completed = new boolean[jobs];
+    }
+
+    public static void main(String[] args) {
+        int instances = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 3600;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        LevelManager levelManager = new LevelManager();
+        List<LevelData> levels = new ArrayList<>();
+        for (int i = 0; i < levelManager.getLevelCount(); i++) {
+            levels.add(levelManager.getLevel(i));
+        }
+        levels.addAll(levelManager.loadFixtures());
+        BatchSimulator batch = new BatchSimulator(levels, instances, ticks, seed);
+        long start = System.nanoTime();
+        long totalTicks = batch.run(new ForkJoinPool(threads));
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        for (int l = 0; l < levels.size(); l++) {
+            System.out.printf("%-24s completed %4d/%d  avg deaths %6.2f%n", levels.get(l).getName(),
+                    batch.getCompletedCount(l), instances, batch.getAverageDeaths(l));
+        }
+        double ticksPerSecond = totalTicks / seconds;
+        System.out.printf("%d instances, %d ticks in %.2fs on %d threads%n", levels.size() * instances, totalTicks, seconds, threads);
+        // More threads than cores just time-slice, so only the cores actually in use count.
+        int cores = Math.min(threads, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%.0f ticks/sec, %.0f ticks/sec per core%n", ticksPerSecond, ticksPerSecond / cores);
+    }
+
+    public long run(ForkJoinPool pool) {
+        pool.invoke(new RunRange(0, finalHashes.length));
+        long total = 0;
+        for (int count : ticksRun) {
+            total += count;
+        }
+        return total;
+    }
+
+    private void runInstance(int job) {
+        LevelData level = levels.get(job / instancesPerLevel);
+        WorldSimulation world = new WorldSimulation();
+        world.loadLevel(level);
+        InputFrame input = new InputFrame();
+        SplittableRandom script = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + job);
+        int holdTicks = 0;
+        int tick = 0;
+        while (tick < ticks && !world.isLevelComplete()) {
+            if (holdTicks-- <= 0) {
+                holdTicks = 10 + script.nextInt(80);
+                int move = script.nextInt(5);
+                input.setLeft(move == 0);
+                input.setRight(move >= 3);
+                input.setSprint(script.nextInt(3) == 0);
+            }
+            input.setJump(script.nextInt(12) == 0 || (input.isJump() && script.nextInt(4) != 0));
+            input.setGravityRequest(script.nextInt(240) == 0 ? DIRECTIONS[script.nextInt(DIRECTIONS.length)] : null);
+            world.step(input);
+            tick++;
+        }
+        finalHashes[job] = world.getStateHash();
+        deaths[job] = world.getDeathCount();
+        ticksRun[job] = tick;
+        completed[job] = world.isLevelComplete();
+    }
+
+    public int getCompletedCount(int levelIndex) {
+        int count = 0;
+        for (int i = 0; i < instancesPerLevel; i++) {
+            if (completed[levelIndex * instancesPerLevel + i]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public double getAverageDeaths(int levelIndex) {
+        long total = 0;
+        for (int i = 0; i < instancesPerLevel; i++) {
+            total += deaths[levelIndex * instancesPerLevel + i];
+        }
+        return instancesPerLevel == 0 ? 0 : total / (double) instancesPerLevel;
+    }
+
+    public long getFinalHash(int levelIndex, int instance) {
+        return finalHashes[levelIndex * instancesPerLevel + instance];
+    }
+
+    private final class RunRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+
+        RunRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int job = from; job < to; job++) {
+                    runInstance(job);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RunRange(from, mid), new RunRange(mid, to));
+        }
+    }
+}
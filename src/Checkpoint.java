@@ -12,22 +12,6 @@ public class Checkpoint {
         this.radius = radius;
     }
 
-    public boolean check(Player player) {
-        double px = player.getX();
-        double py = player.getY();
-        double pw = player.getWidth();
-        double ph = player.getHeight();
-        double closestX = clamp(position.x, px, px + pw);
-        double closestY = clamp(position.y, py, py + ph);
-        double dx = position.x - closestX;
-        double dy = position.y - closestY;
-        if (dx * dx + dy * dy <= radius * radius) {
-            activated = true;
-            return true;
-        }
-        return false;
-    }
-
     public void draw(Graphics2D g2d) {
         int x = (int) (position.x - radius);
         int y = (int) (position.y - radius);
@@ -48,10 +32,6 @@ public class Checkpoint {
         g2d.fillRect(x + size - 2, y + size / 2 - 2, 6, 4);
     }
 
-    private double clamp(double value, double min, double max) {
-        return Math.max(min, Math.min(max, value));
-    }
-
     public Point2D.Double getPosition() {
         return position;
     }
@@ -59,4 +39,12 @@ public class Checkpoint {
     public boolean isActivated() {
         return activated;
     }
+
+    public void setActivated(boolean activated) {
+        this.activated = activated;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
 }
@@ -0,0 +1,118 @@
+import java.awt.Color;
+
+public class ColorSmear {
+    private final int[] coolTint = new int[256 * 3];
+    private final int[] warmTint = new int[256 * 3];
+    private final int[] coolKeep = new int[256];
+    private final int[] warmKeep = new int[256];
+    private final Color cool;
+    private final Color warm;
+    private int coolAlpha = -1;
+    private int warmAlpha = -1;
+    private int offsetX;
+    private int warmOffsetY;
+
+    public ColorSmear(Color cool, Color warm) {
+        this.cool = cool;
+        this.warm = warm;
+    }
+
+    // Uses the SIMD kernel when it was compiled in and the JVM was started with
+    // --add-modules jdk.incubator.vector; otherwise (or if it fails to link) the scalar one.
+    public static ColorSmear create(Color cool, Color warm) {
+        try {
+            return (ColorSmear) Class.forName("VectorColorSmear").getConstructor(Color.class, Color.class).newInstance(cool, warm);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ColorSmear(cool, warm);
+        }
+    }
+
+    // Same inputs as the Graphics2D version: a translucent SrcAtop tint over the frame, drawn back
+    // with an extra alpha, one copy shifted right and one shifted left and down.
+    public void setup(int offsetX, int warmOffsetY, float coolOpacity, float warmOpacity) {
+        this.offsetX = offsetX;
+        this.warmOffsetY = warmOffsetY;
+        int nextCool = (int) (coolOpacity * 255.0 + 0.5);
+        int nextWarm = (int) (warmOpacity * 255.0 + 0.5);
+        if (nextCool != coolAlpha) {
+            coolAlpha = nextCool;
+            fillTables(cool, coolAlpha, coolTint, coolKeep);
+        }
+        if (nextWarm != warmAlpha) {
+            warmAlpha = nextWarm;
+            fillTables(warm, warmAlpha, warmTint, warmKeep);
+        }
+    }
+
+    // Each channel of a tinted, faded-in copy is tint[ch][src] + keep[dst], using Java2D's 8-bit
+    // multiply so the result matches the old compositing passes pixel for pixel.
+    private static void fillTables(Color tint, int opacity, int[] tinted, int[] keep) {
+        int tintAlpha = tint.getAlpha();
+        int[] channels = {tint.getRed(), tint.getGreen(), tint.getBlue()};
+        for (int ch = 0; ch < 3; ch++) {
+            int add = mul8(tintAlpha, channels[ch]);
+            for (int v = 0; v < 256; v++) {
+                tinted[ch * 256 + v] = mul8(opacity, add + mul8(255 - tintAlpha, v));
+            }
+        }
+        for (int v = 0; v < 256; v++) {
+            keep[v] = mul8(255 - opacity, v);
+        }
+    }
+
+    // Reads src once per tap and writes dst; rows are independent, so bands can run in parallel.
+    // The frame is opaque (it always starts with the backdrop), which keeps alpha at 255 throughout.
+    public void apply(int[] src, int[] dst, int width, int height, int fromRow, int toRow) {
+        for (int y = fromRow; y < toRow; y++) {
+            int warmY = y - warmOffsetY;
+            applyRow(src, dst, width, y * width, warmY * width, warmY >= 0 && warmY < height);
+        }
+    }
+
+    protected void applyRow(int[] src, int[] dst, int width, int row, int warmRow, boolean warmInside) {
+        applySpan(src, dst, width, row, warmRow, warmInside, 0, width);
+    }
+
+    protected final void applySpan(int[] src, int[] dst, int width, int row, int warmRow, boolean warmInside, int fromX, int toX) {
+        for (int x = fromX; x < toX; x++) {
+            int rgb = src[row + x];
+            int coolX = x - offsetX;
+            if (coolX >= 0 && coolX < width) {
+                rgb = blend(rgb, src[row + coolX], coolTint, coolKeep);
+            }
+            int warmX = x + offsetX;
+            if (warmInside && warmX >= 0 && warmX < width) {
+                rgb = blend(rgb, src[warmRow + warmX], warmTint, warmKeep);
+            }
+            dst[row + x] = rgb;
+        }
+    }
+
+    private static int blend(int dst, int src, int[] tinted, int[] keep) {
+        int r = tinted[(src >> 16) & 0xFF] + keep[(dst >> 16) & 0xFF];
+        int g = tinted[256 + ((src >> 8) & 0xFF)] + keep[(dst >> 8) & 0xFF];
+        int b = tinted[512 + (src & 0xFF)] + keep[dst & 0xFF];
+        return (dst & 0xFF000000) | (r << 16) | (g << 8) | b;
+    }
+
+    public boolean isVectorized() {
+        return false;
+    }
+
+    protected int getOffsetX() {
+        return offsetX;
+    }
+
+    protected int getCoolAlpha() {
+        return coolAlpha;
+    }
+
+    protected int getWarmAlpha() {
+        return warmAlpha;
+    }
+
+    // Java2D's rounded a * b / 255 (the mul8table in its software loops).
+    protected static int mul8(int a, int b) {
+        return (a * b * 0x10101 + 0x800000) >>> 24;
+    }
+}
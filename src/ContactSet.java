@@ -0,0 +1,78 @@
+import java.util.Arrays;
+
+public class ContactSet {
+    private int[] ids = new int[8];
+    private int[] normalX = new int[8];
+    private int[] normalY = new int[8];
+    private double[] deltaX = new double[8];
+    private double[] deltaY = new double[8];
+    private int count;
+
+    public void clear() {
+        count = 0;
+    }
+
+    public void truncate(int newCount) {
+        count = Math.min(count, newCount);
+    }
+
+    public void add(int id, int nx, int ny, double dx, double dy) {
+        if (count == ids.length) {
+            int capacity = count * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            normalX = Arrays.copyOf(normalX, capacity);
+            normalY = Arrays.copyOf(normalY, capacity);
+            deltaX = Arrays.copyOf(deltaX, capacity);
+            deltaY = Arrays.copyOf(deltaY, capacity);
+        }
+        ids[count] = id;
+        normalX[count] = nx;
+        normalY[count] = ny;
+        deltaX[count] = dx;
+        deltaY[count] = dy;
+        count++;
+    }
+
+    // The supporting contact pushes against gravity; a moving support wins over a static one so the
+    // player rides platforms that sit flush with the ground around them.
+    public int findSupport(GravityDir gravityDir) {
+        int support = -1;
+        for (int i = 0; i < count; i++) {
+            if (normalX[i] != -gravityDir.getXSign() || normalY[i] != -gravityDir.getYSign()) {
+                continue;
+            }
+            if (support < 0 || (!isMoving(support) && isMoving(i))) {
+                support = i;
+            }
+        }
+        return support;
+    }
+
+    public boolean isMoving(int index) {
+        return deltaX[index] != 0 || deltaY[index] != 0;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    public int getNormalX(int index) {
+        return normalX[index];
+    }
+
+    public int getNormalY(int index) {
+        return normalY[index];
+    }
+
+    public double getDeltaX(int index) {
+        return deltaX[index];
+    }
+
+    public double getDeltaY(int index) {
+        return deltaY[index];
+    }
+}
@@ -10,15 +10,6 @@ public class CoopButton {
         this.bounds = new Rectangle2D.Double(x, y, w, h);
     }
 
-    public boolean check(Player player) {
-        if (bounds.intersects(player.getBounds())) {
-            pressed = true;
-            return true;
-        }
-        pressed = false;
-        return false;
-    }
-
     public void draw(Graphics2D g2d) {
         int x = (int) bounds.x;
         int y = (int) bounds.y;
@@ -42,6 +33,10 @@ public class CoopButton {
         return pressed;
     }
 
+    public void setPressed(boolean pressed) {
+        this.pressed = pressed;
+    }
+
     public double getX() {
         return bounds.x;
     }
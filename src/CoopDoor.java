@@ -6,15 +6,17 @@ import java.util.List;
 public class CoopDoor {
     private final Rectangle2D.Double bounds;
     private final List<Integer> linkedButtons;
+    private final int logicNode;
     private boolean open;
 
     public CoopDoor(double x, double y, double w, double h, List<Integer> linkedButtons) {
-        this.bounds = new Rectangle2D.Double(x, y, w, h);
-        this.linkedButtons = linkedButtons;
+        this(x, y, w, h, linkedButtons, -1);
     }
 
-    public void update(List<CoopButton> buttons) {
-        open = linkedButtons.stream().allMatch(idx -> idx >= 0 && idx < buttons.size() && buttons.get(idx).isPressed());
+    public CoopDoor(double x, double y, double w, double h, List<Integer> linkedButtons, int logicNode) {
+        this.bounds = new Rectangle2D.Double(x, y, w, h);
+        this.linkedButtons = linkedButtons;
+        this.logicNode = logicNode;
     }
 
     public void draw(Graphics2D g2d) {
@@ -36,8 +38,8 @@ public class CoopDoor {
         return open;
     }
 
-    public boolean blocks(Player player) {
-        return !open && bounds.intersects(player.getBounds());
+    public void setOpen(boolean open) {
+        this.open = open;
     }
 
     public Rectangle2D.Double getBounds() {
@@ -63,4 +65,8 @@ public class CoopDoor {
     public List<Integer> getButtonLinks() {
         return linkedButtons;
     }
+
+    public int getLogicNode() {
+        return logicNode;
+    }
 }
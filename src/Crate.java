@@ -0,0 +1,29 @@
+public class Crate {
+    private final double x;
+    private final double y;
+    private final int width;
+    private final int height;
+
+    public Crate(double x, double y, int width, int height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
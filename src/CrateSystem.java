@@ -0,0 +1,553 @@
+import java.util.List;
+
+public class CrateSystem {
+    private static final double GRAVITY = 0.6;
+    private static final double MAX_FALL_SPEED = 12.0;
+    private static final double FRICTION = 0.8;
+    private static final double PUSH_SPEED = 1.6;
+    private static final double REST_EPSILON = 0.02;
+    private static final double CONTACT_EPSILON = 1e-9;
+    private static final double WAKE_MARGIN = 2;
+    private static final int SLEEP_TICKS = 30;
+    private static final int PLAYER_HIT = -2;
+
+    private final List<Crate> blueprint;
+    private final int count;
+    private final double[] x;
+    private final double[] y;
+    private final double[] w;
+    private final double[] h;
+    private final double[] velX;
+    private final double[] velY;
+    private final double[] prevX;
+    private final double[] prevY;
+    private final boolean[] awake;
+    private final boolean[] lost;
+    private final int[] restTicks;
+    private final int[] island;
+    private final int[] parent;
+    private final int[] minRest;
+    private final int[] awakeList;
+    private int awakeCount;
+    private int firstId;
+    private final long[] crateHash;
+    private long stateHash;
+    private boolean hashDirty = true;
+
+    public CrateSystem(List<Crate> blueprint) {
+        this.blueprint = blueprint;
+        count = blueprint.size();
+        x = new double[count];
+        y = new double[count];
+        w = new double[count];
+        h = new double[count];
+        velX = new double[count];
+        velY = new double[count];
+        prevX = new double[count];
+        prevY = new double[count];
+        awake = new boolean[count];
+        lost = new boolean[count];
+        restTicks = new int[count];
+        island = new int[count];
+        parent = new int[count];
+        minRest = new int[count];
+        awakeList = new int[count];
+        crateHash = new long[count];
+        reset();
+    }
+
+    // Crates start awake so a level settles its stacks during the first half second, then sleeps.
+    public void reset() {
+        awakeCount = 0;
+        for (int i = 0; i < count; i++) {
+            Crate crate = blueprint.get(i);
+            x[i] = crate.getX();
+            y[i] = crate.getY();
+            w[i] = crate.getWidth();
+            h[i] = crate.getHeight();
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            velX[i] = 0;
+            velY[i] = 0;
+            lost[i] = false;
+            awake[i] = false;
+            island[i] = i;
+            wake(i);
+        }
+        hashDirty = true;
+    }
+
+    void attach(GeometryStore geometry, PlatformIndex index) {
+        firstId = geometry.firstOf(GeometryStore.CRATE);
+        for (int i = 0; i < count; i++) {
+            geometry.moveTo(firstId + i, x[i], y[i], x[i] - prevX[i], y[i] - prevY[i]);
+            geometry.setBlocking(firstId + i, !lost[i]);
+        }
+        index.rebuildCrates();
+    }
+
+    // Awake crates are resolved bottom-up along gravity, so each one lands on supports that have
+    // already moved this tick and a stack settles in a single pass. Sleeping crates cost nothing.
+    // A crate inside a gravity zone falls the zone's way; the order still follows world gravity.
+    public void update(GravityDir gravityDir, GravityZoneIndex zones, WorldChunks chunks, GeometryStore geometry,
+                       PlatformIndex index, List<MovingPlatform> movers, Player player) {
+        if (awakeCount == 0) {
+            return;
+        }
+        sortAwake(gravityDir);
+        int stepped = awakeCount;
+        for (int k = 0; k < stepped; k++) {
+            parent[awakeList[k]] = awakeList[k];
+        }
+        for (int k = 0; k < stepped; k++) {
+            int i = awakeList[k];
+            if (!awake[i]) {
+                continue;
+            }
+            double cx = x[i] + w[i] / 2.0;
+            double cy = y[i] + h[i] / 2.0;
+            if (chunks.isActive(cx, cy)) {
+                stepCrate(i, zones.resolve(cx, cy, gravityDir), chunks, geometry, index, movers, player);
+            } else {
+                // Out of every player's reach: hold still, but stay awake to resume where it left off.
+                prevX[i] = x[i];
+                prevY[i] = y[i];
+                geometry.moveTo(geometry.firstOf(GeometryStore.CRATE) + i, x[i], y[i], 0, 0);
+            }
+        }
+        sleepRestingIslands(geometry);
+    }
+
+    private void stepCrate(int i, GravityDir gravityDir, WorldChunks chunks, GeometryStore geometry, PlatformIndex index,
+                           List<MovingPlatform> movers, Player player) {
+        prevX[i] = x[i];
+        prevY[i] = y[i];
+        if (gravityDir.isVertical()) {
+            velY[i] = clampFall(velY[i] + GRAVITY * gravityDir.getYSign());
+            velX[i] *= FRICTION;
+        } else {
+            velX[i] = clampFall(velX[i] + GRAVITY * gravityDir.getXSign());
+            velY[i] *= FRICTION;
+        }
+
+        double reachX = Math.abs(velX[i]) + 1;
+        double reachY = Math.abs(velY[i]) + 1;
+        int candidates = index.query(x[i] - reachX, y[i] - reachY, w[i] + reachX * 2, h[i] + reachY * 2, true);
+        int[] ids = index.getResults();
+        int support;
+        if (gravityDir.isVertical()) {
+            int side = moveX(i, velX[i], geometry, ids, candidates, player);
+            if (side != -1) {
+                touchSide(i, side, geometry, true);
+            }
+            support = moveY(i, velY[i], geometry, ids, candidates, player);
+            if (support != -1) {
+                if (Math.signum(velY[i]) != gravityDir.getYSign()) {
+                    support = -1;
+                }
+                velY[i] = 0;
+            }
+        } else {
+            int side = moveY(i, velY[i], geometry, ids, candidates, player);
+            if (side != -1) {
+                touchSide(i, side, geometry, false);
+            }
+            support = moveX(i, velX[i], geometry, ids, candidates, player);
+            if (support != -1) {
+                if (Math.signum(velX[i]) != gravityDir.getXSign()) {
+                    support = -1;
+                }
+                velX[i] = 0;
+            }
+        }
+
+        boolean resting = support != -1 && support != PLAYER_HIT;
+        if (support >= 0) {
+            int type = geometry.getType(support);
+            if (type == GeometryStore.CRATE) {
+                int other = support - firstId;
+                touchCrate(i, other);
+                x[i] += x[other] - prevX[other];
+                y[i] += y[other] - prevY[other];
+            } else if (type == GeometryStore.MOVER) {
+                MovingPlatform mover = movers.get(support - geometry.firstOf(GeometryStore.MOVER));
+                x[i] += mover.getTickDeltaX();
+                y[i] += mover.getTickDeltaY();
+            }
+        }
+
+        if (chunks.isBeyondKillPlane(x[i], y[i])) {
+            lost[i] = true;
+            awake[i] = false;
+            index.removeCrate(firstId + i);
+            geometry.setBlocking(firstId + i, false);
+            refreshHash(i);
+        } else {
+            index.moveCrate(firstId + i, x[i], y[i]);
+        }
+        geometry.moveTo(firstId + i, x[i], y[i], x[i] - prevX[i], y[i] - prevY[i]);
+        if (resting && Math.abs(x[i] - prevX[i]) < REST_EPSILON && Math.abs(y[i] - prevY[i]) < REST_EPSILON) {
+            restTicks[i]++;
+        } else {
+            restTicks[i] = 0;
+        }
+    }
+
+    private double clampFall(double velocity) {
+        if (Math.abs(velocity) > MAX_FALL_SPEED) {
+            return MAX_FALL_SPEED * Math.signum(velocity);
+        }
+        return velocity;
+    }
+
+    // A crate shoved into a neighbour hands its sideways velocity on, so a row can be pushed.
+    private void touchSide(int i, int hit, GeometryStore geometry, boolean horizontal) {
+        if (hit < 0 || geometry.getType(hit) != GeometryStore.CRATE) {
+            if (horizontal) {
+                velX[i] = 0;
+            } else {
+                velY[i] = 0;
+            }
+            return;
+        }
+        int other = hit - firstId;
+        touchCrate(i, other);
+        if (horizontal) {
+            if (Math.abs(velX[other]) < Math.abs(velX[i])) {
+                velX[other] = velX[i];
+            }
+            velX[i] = 0;
+        } else {
+            if (Math.abs(velY[other]) < Math.abs(velY[i])) {
+                velY[other] = velY[i];
+            }
+            velY[i] = 0;
+        }
+    }
+
+    private void touchCrate(int i, int other) {
+        if (!awake[other]) {
+            wakeIsland(other);
+        }
+        union(i, other);
+    }
+
+    private int moveX(int i, double dx, GeometryStore geometry, int[] candidates, int candidateCount, Player player) {
+        if (dx == 0) {
+            return -1;
+        }
+        int self = firstId + i;
+        int hit = -1;
+        double bestToi = 1.0;
+        double bestFace = 0;
+        for (int c = 0; c < candidateCount; c++) {
+            int id = candidates[c];
+            if (id == self) {
+                continue;
+            }
+            double py = geometry.getY(id);
+            if (y[i] + h[i] <= py || y[i] >= py + geometry.getHeight(id)) {
+                continue;
+            }
+            double px = geometry.getX(id);
+            double face = dx > 0 ? px : px + geometry.getWidth(id);
+            double toi = dx > 0
+                    ? timeOfImpact(x[i] + w[i], face, x[i], dx)
+                    : timeOfImpact(x[i], face, x[i] + w[i], dx);
+            if (toi < bestToi - CONTACT_EPSILON || (hit < 0 && toi < bestToi)) {
+                bestToi = toi;
+                bestFace = face;
+                hit = id;
+            }
+        }
+        if (y[i] + h[i] > player.getY() && y[i] < player.getY() + player.getHeight()) {
+            double face = dx > 0 ? player.getX() : player.getX() + player.getWidth();
+            double toi = dx > 0
+                    ? timeOfImpact(x[i] + w[i], face, x[i], dx)
+                    : timeOfImpact(x[i], face, x[i] + w[i], dx);
+            if (toi >= 0 && toi < bestToi - CONTACT_EPSILON) {
+                bestFace = face;
+                hit = PLAYER_HIT;
+            }
+        }
+        if (hit == -1) {
+            x[i] += dx;
+            return -1;
+        }
+        x[i] = dx > 0 ? bestFace - w[i] : bestFace;
+        return hit;
+    }
+
+    private int moveY(int i, double dy, GeometryStore geometry, int[] candidates, int candidateCount, Player player) {
+        if (dy == 0) {
+            return -1;
+        }
+        int self = firstId + i;
+        int hit = -1;
+        double bestToi = 1.0;
+        double bestFace = 0;
+        for (int c = 0; c < candidateCount; c++) {
+            int id = candidates[c];
+            if (id == self) {
+                continue;
+            }
+            double px = geometry.getX(id);
+            if (x[i] + w[i] <= px || x[i] >= px + geometry.getWidth(id)) {
+                continue;
+            }
+            double py = geometry.getY(id);
+            double face = dy > 0 ? py : py + geometry.getHeight(id);
+            double toi = dy > 0
+                    ? timeOfImpact(y[i] + h[i], face, y[i], dy)
+                    : timeOfImpact(y[i], face, y[i] + h[i], dy);
+            if (toi < bestToi - CONTACT_EPSILON || (hit < 0 && toi < bestToi)) {
+                bestToi = toi;
+                bestFace = face;
+                hit = id;
+            }
+        }
+        if (x[i] + w[i] > player.getX() && x[i] < player.getX() + player.getWidth()) {
+            double face = dy > 0 ? player.getY() : player.getY() + player.getHeight();
+            double toi = dy > 0
+                    ? timeOfImpact(y[i] + h[i], face, y[i], dy)
+                    : timeOfImpact(y[i], face, y[i] + h[i], dy);
+            if (toi >= 0 && toi < bestToi - CONTACT_EPSILON) {
+                bestFace = face;
+                hit = PLAYER_HIT;
+            }
+        }
+        if (hit == -1) {
+            y[i] += dy;
+            return -1;
+        }
+        y[i] = dy > 0 ? bestFace - h[i] : bestFace;
+        return hit;
+    }
+
+    private double timeOfImpact(double leadingEdge, double face, double trailingEdge, double delta) {
+        if (delta > 0 ? face < trailingEdge : face > trailingEdge) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return (face - leadingEdge) / delta;
+    }
+
+    // Insertion sort keeps this near linear, since the order barely changes between ticks. Ties
+    // fall back to the crate index so a restored snapshot replays in the same order.
+    private void sortAwake(GravityDir gravityDir) {
+        for (int k = 1; k < awakeCount; k++) {
+            int crate = awakeList[k];
+            int j = k - 1;
+            while (j >= 0 && resolvesBefore(crate, awakeList[j], gravityDir)) {
+                awakeList[j + 1] = awakeList[j];
+                j--;
+            }
+            awakeList[j + 1] = crate;
+        }
+    }
+
+    private boolean resolvesBefore(int a, int b, GravityDir gravityDir) {
+        double depthA = gravityDir.getXSign() * x[a] + gravityDir.getYSign() * y[a];
+        double depthB = gravityDir.getXSign() * x[b] + gravityDir.getYSign() * y[b];
+        if (depthA != depthB) {
+            return depthA > depthB;
+        }
+        return a < b;
+    }
+
+    private int find(int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA != rootB) {
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    // An island of touching crates only sleeps once every member has rested long enough, so a crate
+    // never freezes while something it leans on is still settling.
+    private void sleepRestingIslands(GeometryStore geometry) {
+        for (int k = 0; k < awakeCount; k++) {
+            minRest[find(awakeList[k])] = Integer.MAX_VALUE;
+        }
+        for (int k = 0; k < awakeCount; k++) {
+            int i = awakeList[k];
+            int root = find(i);
+            minRest[root] = Math.min(minRest[root], awake[i] ? restTicks[i] : 0);
+        }
+        int kept = 0;
+        for (int k = 0; k < awakeCount; k++) {
+            int i = awakeList[k];
+            if (!awake[i]) {
+                continue;
+            }
+            int root = find(i);
+            if (minRest[root] >= SLEEP_TICKS) {
+                awake[i] = false;
+                island[i] = root;
+                velX[i] = 0;
+                velY[i] = 0;
+                prevX[i] = x[i];
+                prevY[i] = y[i];
+                geometry.moveTo(firstId + i, x[i], y[i], 0, 0);
+                refreshHash(i);
+            } else {
+                awakeList[kept++] = i;
+            }
+        }
+        awakeCount = kept;
+    }
+
+    private void wake(int i) {
+        if (awake[i] || lost[i]) {
+            return;
+        }
+        awake[i] = true;
+        restTicks[i] = 0;
+        parent[i] = i;
+        awakeList[awakeCount++] = i;
+    }
+
+    private void wakeIsland(int i) {
+        int label = island[i];
+        for (int k = 0; k < count; k++) {
+            if (!awake[k] && island[k] == label) {
+                wake(k);
+            }
+        }
+    }
+
+    public void wakeAll() {
+        for (int i = 0; i < count; i++) {
+            wake(i);
+        }
+    }
+
+    public void wakeRegion(PlatformIndex index, double rx, double ry, double rw, double rh) {
+        int hits = index.queryCrates(rx - WAKE_MARGIN, ry - WAKE_MARGIN, rw + WAKE_MARGIN * 2, rh + WAKE_MARGIN * 2);
+        int[] ids = index.getResults();
+        for (int k = 0; k < hits; k++) {
+            int i = ids[k] - firstId;
+            if (!awake[i]) {
+                wakeIsland(i);
+            }
+        }
+    }
+
+    public void push(int id, int dirX, int dirY) {
+        int i = id - firstId;
+        if (i < 0 || i >= count || lost[i]) {
+            return;
+        }
+        if (!awake[i]) {
+            wakeIsland(i);
+        }
+        if (dirX != 0 && Math.abs(velX[i]) < PUSH_SPEED) {
+            velX[i] = PUSH_SPEED * dirX;
+        }
+        if (dirY != 0 && Math.abs(velY[i]) < PUSH_SPEED) {
+            velY[i] = PUSH_SPEED * dirY;
+        }
+    }
+
+    void writeState(WorldSnapshot snapshot) {
+        for (int i = 0; i < count; i++) {
+            snapshot.putReal(x[i]);
+            snapshot.putReal(y[i]);
+            snapshot.putReal(velX[i]);
+            snapshot.putReal(velY[i]);
+            snapshot.putReal(prevX[i]);
+            snapshot.putReal(prevY[i]);
+            snapshot.putWord((awake[i] ? 1 : 0) | (lost[i] ? 2 : 0));
+            snapshot.putWord(restTicks[i]);
+            snapshot.putWord(island[i]);
+        }
+    }
+
+    void readState(WorldSnapshot snapshot) {
+        awakeCount = 0;
+        for (int i = 0; i < count; i++) {
+            x[i] = snapshot.nextReal();
+            y[i] = snapshot.nextReal();
+            velX[i] = snapshot.nextReal();
+            velY[i] = snapshot.nextReal();
+            prevX[i] = snapshot.nextReal();
+            prevY[i] = snapshot.nextReal();
+            int flags = snapshot.nextInt();
+            int rest = snapshot.nextInt();
+            island[i] = snapshot.nextInt();
+            lost[i] = (flags & 2) != 0;
+            awake[i] = false;
+            if ((flags & 1) != 0) {
+                wake(i);
+            }
+            restTicks[i] = rest;
+        }
+        hashDirty = true;
+    }
+
+    // The hash is a sum of per-crate terms, so only crates that are awake (or just stopped being)
+    // are rehashed each tick instead of the whole level.
+    public long getStateHash() {
+        if (hashDirty) {
+            stateHash = 0;
+            for (int i = 0; i < count; i++) {
+                crateHash[i] = 0;
+                refreshHash(i);
+            }
+            hashDirty = false;
+        }
+        for (int k = 0; k < awakeCount; k++) {
+            refreshHash(awakeList[k]);
+        }
+        return stateHash;
+    }
+
+    private void refreshHash(int i) {
+        long hash = WorldSimulation.mix(i, x[i]);
+        hash = WorldSimulation.mix(hash, y[i]);
+        hash = WorldSimulation.mix(hash, velX[i]);
+        hash = WorldSimulation.mix(hash, velY[i]);
+        hash = WorldSimulation.mix(hash, (awake[i] ? 1 : 0) | (lost[i] ? 2 : 0) | ((long) restTicks[i] << 2));
+        stateHash += hash - crateHash[i];
+        crateHash[i] = hash;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getAwakeCount() {
+        return awakeCount;
+    }
+
+    public boolean isLost(int i) {
+        return lost[i];
+    }
+
+    public boolean isAwake(int i) {
+        return awake[i];
+    }
+
+    public double getRenderX(int i, double alpha) {
+        return prevX[i] + (x[i] - prevX[i]) * alpha;
+    }
+
+    public double getRenderY(int i, double alpha) {
+        return prevY[i] + (y[i] - prevY[i]) * alpha;
+    }
+
+    public double getWidth(int i) {
+        return w[i];
+    }
+
+    public double getHeight(int i) {
+        return h[i];
+    }
+}
@@ -42,19 +42,6 @@ public class ExitGate {
         }
     }
 
-    public boolean checkCollision(Player player) {
-        if (!unlocked) {
-            return false;
-        }
-        double px = player.getX();
-        double py = player.getY();
-        double pw = player.getWidth();
-        double ph = player.getHeight();
-        boolean overlapX = px + pw > x && px < x + width;
-        boolean overlapY = py + ph > y && py < y + height;
-        return overlapX && overlapY;
-    }
-
     public void setUnlocked(boolean unlocked) {
         this.unlocked = unlocked;
     }
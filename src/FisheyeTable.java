@@ -0,0 +1,73 @@
+public class FisheyeTable {
+    // Screen shake moves the lens centre by at most a few pixels; lookups further out than this
+    // clamp to the table edge.
+    private static final int PADDING = 16;
+
+    private final int width;
+    private final int height;
+    private final int stride;
+    private final float[] offsetX;
+    private final float[] offsetY;
+    private final short[] pixelOffsetX;
+    private final short[] pixelOffsetY;
+    private double strength = Double.NaN;
+
+    public FisheyeTable(int width, int height) {
+        this.width = width;
+        this.height = height;
+        stride = width + PADDING * 2;
+        offsetX = new float[stride * (height + PADDING * 2)];
+        offsetY = new float[offsetX.length];
+        pixelOffsetX = new short[offsetX.length];
+        pixelOffsetY = new short[offsetX.length];
+    }
+
+    // The barrel distortion samples x + strength * (x - cx) * r^2 (likewise for y). Strength only
+    // follows the level's stress, so the table is rebuilt when a level changes it and every other
+    // frame is pure lookups.
+    public void setStrength(double strength) {
+        if (strength == this.strength) {
+            return;
+        }
+        this.strength = strength;
+        double cx = width / 2.0;
+        double cy = height / 2.0;
+        for (int row = 0; row < height + PADDING * 2; row++) {
+            double dy = (row - PADDING - cy) / cy;
+            for (int col = 0; col < stride; col++) {
+                double dx = (col - PADDING - cx) / cx;
+                double distort = strength * (dx * dx + dy * dy);
+                int i = row * stride + col;
+                offsetX[i] = (float) (dx * distort * cx);
+                offsetY[i] = (float) (dy * distort * cy);
+                pixelOffsetX[i] = (short) Math.round(offsetX[i]);
+                pixelOffsetY[i] = (short) Math.round(offsetY[i]);
+            }
+        }
+    }
+
+    public int rowStart(int y) {
+        return Math.max(0, Math.min(height + PADDING * 2 - 1, y + PADDING)) * stride;
+    }
+
+    public int column(int x) {
+        return Math.max(0, Math.min(stride - 1, x + PADDING));
+    }
+
+    public float[] getOffsetX() {
+        return offsetX;
+    }
+
+    public float[] getOffsetY() {
+        return offsetY;
+    }
+
+    // Whole-pixel offsets: rounding x + offset for an integer x is x + round(offset).
+    public short[] getPixelOffsetX() {
+        return pixelOffsetX;
+    }
+
+    public short[] getPixelOffsetY() {
+        return pixelOffsetY;
+    }
+}
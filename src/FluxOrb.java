@@ -48,33 +48,10 @@ public class FluxOrb {
         return radius;
     }
 
-    public boolean checkCollected(Player player) {
-        if (collected) {
-            return false;
-        }
-        double px = player.getX();
-        double py = player.getY();
-        double pw = player.getWidth();
-        double ph = player.getHeight();
-        double closestX = clamp(position.x, px, px + pw);
-        double closestY = clamp(position.y, py, py + ph);
-        double dx = position.x - closestX;
-        double dy = position.y - closestY;
-        if (dx * dx + dy * dy <= radius * radius) {
-            collected = true;
-            return true;
-        }
-        return false;
-    }
-
     public void setCollected(boolean value) {
         this.collected = value;
     }
 
-    private double clamp(double value, double min, double max) {
-        return Math.max(min, Math.min(max, value));
-    }
-
     public boolean isCollected() {
         return collected;
     }
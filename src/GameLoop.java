@@ -0,0 +1,73 @@
+import java.util.concurrent.locks.LockSupport;
+
+public class GameLoop implements Runnable {
+    public static final double TICK_SECONDS = 1.0 / 60.0;
+    private static final long TICK_NANOS = 1_000_000_000L / 60L;
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+
+    public interface Simulation {
+        void tick(double dt);
+
+        void frameReady();
+    }
+
+    private final Object lock;
+    private final Simulation simulation;
+    private volatile boolean running;
+    private volatile long lastTickNanos;
+    private Thread thread;
+
+    public GameLoop(Object lock, Simulation simulation) {
+        this.lock = lock;
+        this.simulation = simulation;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "sim-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+        lastTickNanos = previous;
+        while (running) {
+            long now = System.nanoTime();
+            long frame = Math.min(now - previous, MAX_FRAME_NANOS);
+            previous = now;
+            accumulator += frame;
+            boolean ticked = false;
+            while (accumulator >= TICK_NANOS) {
+                synchronized (lock) {
+                    simulation.tick(TICK_SECONDS);
+                }
+                accumulator -= TICK_NANOS;
+                lastTickNanos = System.nanoTime();
+                ticked = true;
+            }
+            if (ticked) {
+                simulation.frameReady();
+            }
+            LockSupport.parkNanos(TICK_NANOS - accumulator);
+        }
+    }
+
+    public double getInterpolationAlpha() {
+        double alpha = (System.nanoTime() - lastTickNanos) / (double) TICK_NANOS;
+        return Math.max(0.0, Math.min(1.0, alpha));
+    }
+}
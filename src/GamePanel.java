@@ -1,5 +1,4 @@
 import javax.swing.JPanel;
-import javax.swing.Timer;
 import javax.swing.SwingUtilities;
 import java.awt.AlphaComposite;
 import java.awt.BasicStroke;
@@ -15,18 +14,16 @@ import java.awt.GradientPaint;
 import java.awt.RenderingHints;
 import java.awt.Stroke;
 import java.awt.geom.AffineTransform;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.geom.Point2D;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.io.UncheckedIOException;
 import java.util.Base64;
-import java.util.EnumMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
@@ -34,15 +31,15 @@ import java.util.Arrays;
 import java.nio.charset.StandardCharsets;
 
 @SuppressWarnings({"serial", "this-escape"})
-public class GamePanel extends JPanel implements ActionListener, KeyListener {
+public class GamePanel extends JPanel implements KeyListener, GameLoop.Simulation, WorldSimulation.Listener {
     private static final long serialVersionUID = 1L;
     private static final int BASE_WIDTH = 960;
     private static final int BASE_HEIGHT = 540;
-    private static final int PLAYER_W = 24;
-    private static final int PLAYER_H = 38;
-    private static final int KILL_PADDING = 500;
-    private static final double FRICTION = 0.85;
-    private static final double GRAVITY_COOLDOWN = 0.4;
+    private static final int VIEW_MARGIN = 16;
+    private static final int PLAYER_W = WorldSimulation.PLAYER_W;
+    private static final int PLAYER_H = WorldSimulation.PLAYER_H;
+    private static final int REWIND_SECONDS = 6;
+    private static final long PHYSICS_BUDGET_NANOS = 4_000_000L;
     private static final String FINAL_ESCAPE_MESSAGE = "Thank you for helping me escape..";
     private static final Color[][] SUIT_PALETTES = new Color[][]{
             {new Color(156, 102, 212), new Color(86, 46, 124)},
@@ -51,6 +48,37 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
             {new Color(188, 124, 208), new Color(108, 62, 148)},
             {new Color(214, 104, 116), new Color(152, 48, 76)}
     };
+    private static final Color DUST_COLOR = new Color(186, 178, 172, 180);
+    private static final Color LANDING_COLOR = new Color(204, 192, 180, 200);
+    private static final Color SMOKE_COLOR = new Color(172, 162, 162, 180);
+    private static final Color DEATH_EMBER_COLOR = new Color(230, 98, 72, 220);
+    private static final Color DEATH_SPARK_COLOR = new Color(210, 162, 248, 200);
+    private static final Color IDLE_MOTE_COLOR = new Color(162, 188, 210, 120);
+    private static final Color CRATE_SHADOW_COLOR = new Color(8, 6, 16, 170);
+    private static final Color CRATE_BASE_COLOR = new Color(116, 82, 58);
+    private static final Color CRATE_TRIM_COLOR = new Color(168, 126, 84);
+    private static final Color CRATE_EDGE_COLOR = new Color(30, 18, 14);
+    private static final Color PLATFORM_BASE_COLOR = new Color(42, 28, 60);
+    private static final Color PLATFORM_HIGHLIGHT_COLOR = new Color(98, 62, 124);
+    private static final Color MOVER_BASE_COLOR = new Color(64, 36, 78);
+    private static final Color MOVER_HIGHLIGHT_COLOR = new Color(132, 82, 154);
+    private static final Color ZONE_FORCED_COLOR = new Color(72, 168, 220, 46);
+    private static final Color ZONE_LIMIT_COLOR = new Color(220, 176, 72, 40);
+    private static final Color ZONE_EDGE_COLOR = new Color(190, 220, 240, 110);
+    private static final Color SMEAR_COOL_TINT = new Color(126, 86, 196, 120);
+    private static final Color SMEAR_WARM_TINT = new Color(196, 122, 74, 120);
+    private static final Color ORB_TOAST_COLOR = new Color(154, 248, 196);
+    private static final Color STREAK_TOAST_COLOR = new Color(140, 222, 206);
+    private static final Color GATE_TOAST_COLOR = new Color(186, 214, 120);
+    private static final Color CHECKPOINT_TOAST_COLOR = new Color(206, 166, 248);
+    private static final Color SETBACK_TOAST_COLOR = new Color(236, 158, 142);
+    private static final Color HINT_TOAST_COLOR = new Color(214, 186, 132);
+    private static final Color AHEAD_TOAST_COLOR = new Color(146, 218, 170);
+    private static final Color BEHIND_TOAST_COLOR = new Color(224, 158, 132);
+    private static final Color BEST_TOAST_COLOR = new Color(178, 236, 196);
+    private static final int POST_DISTORT = 0;
+    private static final int POST_SMEAR = 1;
+    private static final int POST_OVERLAY = 2;
     private static final Color[] VISOR_COLORS = new Color[]{
             new Color(150, 220, 238),
             new Color(210, 210, 230),
@@ -76,31 +104,21 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
             "Final note: If you reach level 10, the CRT might finally speak for itself."
     };
 
-    private final Timer timer;
+    private final GameLoop gameLoop;
+    private final Object worldLock = new Object();
+    private final WorldSimulation world;
+    private final InputFrame input = new InputFrame();
     private final Player player;
-    private Player partner;
-    private final EnumMap<GravityDir, Point2D.Double> lastSafeGroundedPos;
+    private final Player partner;
     private final LevelManager levelManager;
-    private List<Platform> platforms;
-    private List<MovingPlatform> movers;
-    private List<Spike> spikes;
-    private List<Checkpoint> checkpoints;
-    private List<FluxOrb> orbs;
-    private List<CoopButton> buttons;
-    private List<CoopDoor> doors;
-    private ExitGate exitGate;
-    private ObjectiveManager objectiveManager;
-    private GravityDir gravityDir;
-    private GravityDir partnerGravity;
     private boolean leftPressed;
     private boolean rightPressed;
     private boolean jumpPressed;
-    private boolean jumpHeld;
+    private GravityDir pendingGravity;
 
     private Settings settings;
     private SaveGame.SaveData saveData;
     private int activeSaveSlot;
-    private double gravityCooldownRemaining;
 
     private GameState gameState = GameState.SPLASH;
     private int mainMenuIndex = 0;
@@ -113,38 +131,61 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     private String bindingTarget = "";
     private double scale;
     private GameState previousStateBeforeSettings = GameState.MAIN_MENU;
-    private Point2D.Double respawnPosition;
-    private GravityDir respawnGravity;
-    private int deathCount;
-    private long lastTickNanos = System.nanoTime();
+    private long lastFrameNanos = System.nanoTime();
+    private double renderAlpha = 1.0;
+    private double cameraX;
+    private double cameraY;
+    private final StaticLayerCache staticLayer = new StaticLayerCache(this::paintStaticLayer);
+    private BufferedImage backgroundImage;
     private boolean multiplayerActive;
     private boolean multiplayerHost;
     private MultiplayerSession session;
-    private long localOrbMask;
-    private long remoteOrbMask;
     private int multiplayerMenuIndex = 0;
     private int multiplayerLevelIndex = 0;
     private boolean waitingForLevelSync;
     private String directIpInput = "127.0.0.1";
-    private final Random vhsNoise = new Random();
+    private final RandomStreams randomStreams;
+    private final Random effectsNoise;
+    private final Random splashNoise;
+    private final Random vhsNoise;
     private double deathEffectTimer;
     private double screenShakeTimer;
     private double screenShakeStrength;
     private BufferedImage sceneBuffer;
     private BufferedImage distortionBuffer;
     private BufferedImage smearBuffer;
-    private BufferedImage tintBufferCool;
-    private BufferedImage tintBufferWarm;
-    private final List<Platform> platformScratch = new ArrayList<>();
-    private final List<Platform> doorPlatforms = new ArrayList<>();
+    private final PostProcessPipeline postPipeline = new PostProcessPipeline("distort", "smear", "overlay");
+    private final PostProcessPipeline.RowStage copyRows = this::copyRows;
+    private final PostProcessPipeline.RowStage distortRows = this::distortRows;
+    private final PostProcessPipeline.RowStage smearRows = this::smearRows;
+    private BufferedImage postSource;
+    private FisheyeTable fisheye;
+    private boolean distortHeavy;
+    private double distortStrength;
+    private double distortAberration;
+    private double distortShakeX;
+    private double distortShakeY;
+    private final ColorSmear colorSmear = ColorSmear.create(SMEAR_COOL_TINT, SMEAR_WARM_TINT);
     private boolean shiftPressed;
+    private boolean rewindPressed;
+    private boolean rewinding;
     private double fpsTimer;
     private int fpsFrames;
     private double fpsDisplay;
-    private String toastMessage = "";
+    // Built in place so toasts raised mid-tick (streaks, par splits) allocate nothing; the HUD copies
+    // it into toastChars to draw.
+    private final StringBuilder toastMessage = new StringBuilder(96);
+    private final StringBuilder toastScratch = new StringBuilder(96);
+    private char[] toastChars = new char[96];
     private double toastTimer;
     private Color toastColor = new Color(214, 210, 196);
     private final List<Particle> particles = new ArrayList<>();
+    private final List<Particle> particlePool = new ArrayList<>();
+    private final WorldSnapshot levelStartSnapshot = new WorldSnapshot();
+    private final WorldSnapshot practiceSnapshot = new WorldSnapshot();
+    private final RewindBuffer rewindBuffer = new RewindBuffer(REWIND_SECONDS * 60);
+    private final com.sun.management.ThreadMXBean allocationCounter = resolveAllocationCounter();
+    private long tickAllocatedBytes = -1;
     private double stepTimer;
     private boolean wasGrounded;
     private int localPaletteIndex;
@@ -164,11 +205,11 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     private double radioTimer;
     private int radioIndex;
     private int orbStreak;
+    private boolean savesEnabled = true;
     private boolean deathlessRun;
     private double idleTimer;
     private double companionChatCooldown;
     private String lastHintMessage = "";
-    private boolean gateUnlockAnnounced;
     private boolean finalEscapeSequenceActive;
     private boolean finalShutdownTriggered;
     private double finalShutdownTimer;
@@ -179,14 +220,10 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     private boolean screenEffectsCalmOverride;
     private boolean hudHidden;
     private double hudHintTimer;
-    private boolean gravityLocked;
-    private double jumpBufferTimer;
-    private double coyoteTimer;
     private double orbPingTimer;
     private FluxOrb orbPingTarget;
     private boolean calmEffects;
     private boolean muted;
-    private boolean quickRecoverArmed;
     private int localVisorIndex;
     private int remoteVisorIndex;
     private int customizeMenuIndex;
@@ -223,6 +260,11 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     public GamePanel(Settings providedSettings) {
         settings = providedSettings != null ? providedSettings : Settings.load();
         SoundManager.setMasterVolume(settings.getMasterVolume() / 100.0);
+        randomStreams = new RandomStreams(settings.isDeterministic() ? settings.getSeed() : System.nanoTime());
+        effectsNoise = randomStreams.get(RandomStreams.EFFECTS);
+        splashNoise = randomStreams.get(RandomStreams.SPLASH);
+        vhsNoise = randomStreams.get(RandomStreams.VHS);
+        SoundManager.setNoiseSource(randomStreams.get(RandomStreams.AUDIO));
         sharedRespawnsEnabled = settings.isSharedRespawns();
         localPaletteIndex = settings.getSuitPalette() % SUIT_PALETTES.length;
         if (localPaletteIndex < 0) {
@@ -240,7 +282,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         addKeyListener(this);
 
         splashElapsed = 0;
-        splashDuration = 3.0 + vhsNoise.nextDouble() * 4.0;
+        splashDuration = 3.0 + splashNoise.nextDouble() * 4.0;
         fakeLoadProgress = 0;
         levelLoadProgress = 0;
         companion = new SoloCompanion();
@@ -251,11 +293,13 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         idleTimer = 0;
         companionChatCooldown = 0;
 
-        lastSafeGroundedPos = new EnumMap<>(GravityDir.class);
-        gravityDir = GravityDir.DOWN;
-        gravityCooldownRemaining = 0;
-        player = new Player(0, 0, PLAYER_W, PLAYER_H);
-        partner = new Player(0, 0, PLAYER_W, PLAYER_H);
+        world = new WorldSimulation();
+        world.setListener(this);
+        world.setPhysicsRate(settings.getPhysicsRate());
+        // Deterministic runs keep the configured rate so a seed always replays the same way.
+        world.setSubstepBudgetNanos(settings.isDeterministic() ? 0 : PHYSICS_BUDGET_NANOS);
+        player = world.getPlayer();
+        partner = world.getPartner();
         customizePreview = new Player(BASE_WIDTH / 2.0 - 12, BASE_HEIGHT / 2.0, PLAYER_W, PLAYER_H);
         editorDraft = new LevelDraft();
         editorToolIndex = 0;
@@ -270,57 +314,103 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         saveData = SaveGame.load(levelManager.getLevelCount(), activeSaveSlot);
         loadLevel(saveData.currentLevelIndex);
 
-        timer = new Timer(16, this);
+        gameLoop = new GameLoop(worldLock, this);
     }
 
     public void start() {
         requestFocusInWindow();
-        timer.start();
+        gameLoop.start();
+    }
+
+    // Headless checks (AllocationCheck) drive the IN_GAME tick through these instead of a window and
+    // key events; such a run never writes progress to disk.
+    void startHeadlessRun(LevelData data) {
+        savesEnabled = false;
+        loadLevel(data);
+        gameState = GameState.IN_GAME;
+    }
+
+    void setHeldKeys(boolean left, boolean right, boolean jump, boolean sprint) {
+        leftPressed = left;
+        rightPressed = right;
+        jumpPressed = jump;
+        shiftPressed = sprint;
+    }
+
+    void requestGravity(GravityDir dir) {
+        pendingGravity = dir;
     }
 
     private void loadLevel(int index) {
         LevelData data = levelManager.getLevel(index);
-        if (data == null) {
-            return;
-        }
-        platforms = data.getPlatforms();
-        movers = data.getMovers();
-        spikes = data.getSpikes();
-        checkpoints = data.getCheckpoints();
-        orbs = new ArrayList<>();
-        buttons = data.getButtons();
-        doors = data.getDoors();
-        doorPlatforms.clear();
-        for (CoopDoor door : doors) {
-            var bounds = door.getBounds();
-            doorPlatforms.add(new Platform(bounds.x, bounds.y, (int) bounds.width, (int) bounds.height));
-        }
-        for (Point2D.Double pos : data.getOrbPositions()) {
-            orbs.add(new FluxOrb(pos, 12));
-        }
-        exitGate = new ExitGate(data.getExitGateX(), data.getExitGateY(), data.getExitGateWidth(), data.getExitGateHeight());
-        exitGate.setUnlocked(false);
-        objectiveManager = new ObjectiveManager(orbs, exitGate, data.getParTimeSeconds());
-        objectiveManager.resetTimer();
-        Point2D.Double spawn = data.getSpawnPosition();
-        Point2D.Double partnerSpawn = data.getPartnerSpawnPosition();
-        player.setPosition(spawn.x, spawn.y);
-        player.resetVelocity();
-        partner.setPosition(partnerSpawn.x, partnerSpawn.y);
-        partner.resetVelocity();
-        gravityDir = data.getSpawnGravity();
-        partnerGravity = data.getSpawnGravity();
-        respawnPosition = new Point2D.Double(spawn.x, spawn.y);
-        respawnGravity = gravityDir;
-        deathCount = 0;
-        localOrbMask = 0;
-        remoteOrbMask = 0;
+        if (data != null) {
+            loadLevel(data);
+        }
+    }
+
+    private void loadLevel(LevelData data) {
+        if (settings.isDeterministic()) {
+            randomStreams.reseed(settings.getSeed());
+        }
+        world.loadLevel(data);
+        world.saveSnapshot(levelStartSnapshot);
+        practiceSnapshot.clear();
+        rewindBuffer.clear();
+        resetRunPresentation(data.getSpawnPosition());
+        waitingForLevelSync = false;
+        localReady = false;
+        remoteReady = false;
+    }
+
+    private boolean restartFromSnapshot() {
+        if (!world.restoreSnapshot(levelStartSnapshot)) {
+            return false;
+        }
+        if (settings.isDeterministic()) {
+            randomStreams.reseed(settings.getSeed());
+        }
+        practiceSnapshot.clear();
+        rewindBuffer.clear();
+        resetRunPresentation(world.getLevel().getSpawnPosition());
+        return true;
+    }
+
+    private void restartLevel() {
+        if (restartFromSnapshot()) {
+            gameState = GameState.IN_GAME;
+        } else {
+            startLevelLoad(saveData.currentLevelIndex);
+        }
+    }
+
+    private void savePracticeState() {
+        world.saveSnapshot(practiceSnapshot);
+        setToast("Practice state saved", new Color(156, 204, 214));
+    }
+
+    private void loadPracticeState() {
+        if (!world.restoreSnapshot(practiceSnapshot)) {
+            setToast("No practice state saved", new Color(198, 186, 162));
+            return;
+        }
+        pendingGravity = null;
+        rewindBuffer.clear();
+        particlePool.addAll(particles);
+        particles.clear();
+        wasGrounded = player.isGrounded();
+        if (companion != null) {
+            companion.snapTo(player.getX() - 26, player.getY() - 32);
+        }
+        setToast("Practice state loaded", new Color(156, 204, 214));
+    }
+
+    private void resetRunPresentation(Point2D.Double spawn) {
+        pendingGravity = null;
         orbStreak = 0;
         deathlessRun = true;
         idleTimer = 0;
         companionChatCooldown = 0;
         lastHintMessage = "";
-        gateUnlockAnnounced = false;
         finalEscapeSequenceActive = false;
         finalShutdownTriggered = false;
         levelCompleteElapsed = 0;
@@ -332,16 +422,9 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         if (companion != null) {
             companion.snapTo(spawn.x - 26, spawn.y - 32);
         }
+        particlePool.addAll(particles);
         particles.clear();
-        lastSafeGroundedPos.clear();
-        for (GravityDir dir : GravityDir.values()) {
-            lastSafeGroundedPos.put(dir, new Point2D.Double(spawn.x, spawn.y));
-        }
-        gravityCooldownRemaining = 0;
-        waitingForLevelSync = false;
         wasGrounded = player.isGrounded();
-        localReady = false;
-        remoteReady = false;
     }
 
     private void startLevelLoad(int index) {
@@ -357,6 +440,9 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     }
 
     private void persistSave() {
+        if (!savesEnabled) {
+            return;
+        }
         SaveGame.save(saveData, activeSaveSlot);
     }
 
@@ -378,18 +464,12 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     }
 
     @Override
-    public void actionPerformed(ActionEvent e) {
-        long now = System.nanoTime();
-        double dt = (now - lastTickNanos) / 1_000_000_000.0;
-        dt = Math.min(dt, 0.05);
-        lastTickNanos = now;
-        fpsFrames++;
-        fpsTimer += dt;
-        if (fpsTimer >= 1.0) {
-            fpsDisplay = fpsFrames / fpsTimer;
-            fpsFrames = 0;
-            fpsTimer = 0;
-        }
+    public void frameReady() {
+        repaint();
+    }
+
+    @Override
+    public void tick(double dt) {
         if (multiplayerActive) {
             timeSinceRemote += dt;
         } else {
@@ -402,56 +482,61 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         if (gameState == GameState.SPLASH) {
             updateSplash(dt);
             updateEffects(dt);
-            repaint();
             return;
         }
 
         if (gameState == GameState.LOADING) {
             updateLevelLoading(dt);
             updateEffects(dt);
-            repaint();
             return;
         }
 
         if (gameState == GameState.CUSTOMIZE) {
             updateCustomizePreview(dt);
             updateEffects(dt);
-            repaint();
             return;
         }
 
+        long allocatedBefore = -1;
         if (gameState == GameState.IN_GAME) {
-            updateGravityCooldown(dt);
+            if (settings.isShowDebugHud() && allocationCounter != null) {
+                allocatedBefore = allocationCounter.getCurrentThreadAllocatedBytes();
+            }
             updateAssistTimers(dt);
-            handleInput();
-            updateMovingPlatforms(dt);
-            player.applyPhysics(getAllPlatforms(), gravityDir);
-            updateGroundedState();
-            if (multiplayerActive && session != null) {
-                syncMultiplayer();
-            }
-            if (player.isGrounded()) {
-                lastSafeGroundedPos.put(gravityDir, new Point2D.Double(player.getX(), player.getY()));
-            }
-            updateMovementEffects(dt);
-            double playerTangential = gravityDir.isVertical() ? player.getVelX() : player.getVelY();
-            player.updateAnimation(dt, gravityDir, playerTangential, player.isGrounded());
-            updateCoopButtons();
-            collectOrbs(player, true);
-            if (multiplayerActive) {
-                double partnerTangential = partnerGravity.isVertical() ? partner.getVelX() : partner.getVelY();
-                partner.updateAnimation(dt, partnerGravity, partnerTangential, true);
-                collectOrbs(partner, false);
-            }
-            handleKillPlane();
-            handleCheckpoints();
-            handleHazards();
-            objectiveManager.update(dt, player);
-            if (!multiplayerActive) {
-                updateSoloCompany(dt);
-            }
-            if (exitGate.checkCollision(player)) {
-                onLevelComplete();
+            input.setLeft(leftPressed);
+            input.setRight(rightPressed);
+            input.setJump(jumpPressed);
+            input.setSprint(shiftPressed);
+            input.setGravityRequest(pendingGravity);
+            pendingGravity = null;
+            world.setPartnerActive(multiplayerActive);
+            if (rewindPressed && !multiplayerActive) {
+                rewinding = rewindBuffer.rewind(world);
+            } else {
+                rewinding = false;
+                if (!multiplayerActive) {
+                    rewindBuffer.record(world);
+                }
+                world.step(input);
+            }
+            if (rewinding) {
+                wasGrounded = player.isGrounded();
+            } else if (gameState == GameState.IN_GAME) {
+                if (multiplayerActive && session != null) {
+                    syncMultiplayer();
+                }
+                GravityDir gravityDir = world.getGravityDir();
+                updateMovementEffects(dt);
+                double playerTangential = gravityDir.isVertical() ? player.getVelX() : player.getVelY();
+                player.updateAnimation(dt, gravityDir, playerTangential, player.isGrounded());
+                if (multiplayerActive) {
+                    GravityDir partnerGravity = world.getPartnerGravity();
+                    double partnerTangential = partnerGravity.isVertical() ? partner.getVelX() : partner.getVelY();
+                    partner.updateAnimation(dt, partnerGravity, partnerTangential, true);
+                }
+                if (!multiplayerActive) {
+                    updateSoloCompany(dt);
+                }
             }
         }
 
@@ -460,8 +545,18 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         }
 
         updateEffects(dt);
+        if (allocatedBefore >= 0) {
+            tickAllocatedBytes = allocationCounter.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+    }
 
-        repaint();
+    private static com.sun.management.ThreadMXBean resolveAllocationCounter() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean counter && counter.isThreadAllocatedMemorySupported()) {
+            counter.setThreadAllocatedMemoryEnabled(true);
+            return counter;
+        }
+        return null;
     }
 
     private void pumpMultiplayerLobby() {
@@ -471,79 +566,19 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         MultiplayerSession.RemoteState remote = session.pollRemoteState();
         applyRemoteState(remote);
         advertiseLobbyLevel();
-        session.sendState(player.getX(), player.getY(), gravityDir, localOrbMask, localPaletteIndex, localVisorIndex, localReady, sharedRespawnsEnabled);
+        session.sendState(player.getX(), player.getY(), world.getGravityDir(), world.getLocalOrbMask(), localPaletteIndex, localVisorIndex, localReady, sharedRespawnsEnabled);
         if (multiplayerHost && localReady && remoteReady && !waitingForLevelSync) {
             beginMultiplayerRun();
         }
     }
 
-    private void handleInput() {
-        double moveSpeed = shiftPressed ? 0.9 : 0.6;
-        boolean moveLeft = leftPressed;
-        boolean moveRight = rightPressed;
-
-        if (moveLeft && !moveRight) {
-            player.setFacingRight(false);
-        } else if (moveRight && !moveLeft) {
-            player.setFacingRight(true);
-        }
-
-        if (gravityDir.isVertical()) {
-            if (moveLeft && !moveRight) {
-                player.addVelocity(-moveSpeed, 0);
-            } else if (moveRight && !moveLeft) {
-                player.addVelocity(moveSpeed, 0);
-            } else {
-                player.applyFriction(FRICTION, gravityDir);
-            }
-        } else {
-            if (moveLeft && !moveRight) {
-                player.addVelocity(0, -moveSpeed);
-            } else if (moveRight && !moveLeft) {
-                player.addVelocity(0, moveSpeed);
-            } else {
-                player.applyFriction(FRICTION, gravityDir);
-            }
-        }
-
-        if (jumpPressed && !jumpHeld) {
-            jumpBufferTimer = 0.18;
-        }
-        if (jumpBufferTimer > 0 && (player.isGrounded() || coyoteTimer > 0)) {
-            player.jump(gravityDir);
-            spawnJumpSmoke();
-            SoundManager.playJump();
-            jumpBufferTimer = 0;
-            coyoteTimer = 0;
-        }
-        jumpHeld = jumpPressed;
-    }
-
-    private void handleKillPlane() {
-        double px = player.getX();
-        double py = player.getY();
-        boolean outOfBounds = px < -KILL_PADDING || px > BASE_WIDTH + KILL_PADDING || py < -KILL_PADDING || py > BASE_HEIGHT + KILL_PADDING;
-        if (outOfBounds) {
-            respawn();
-        }
-    }
-
-    private void handleHazards() {
-        for (Spike spike : spikes) {
-            if (spike.intersects(player)) {
-                respawn();
-                return;
-            }
-        }
-    }
-
     private void updateMovementEffects(double dt) {
         if (!settings.isMovementEffectsEnabled()) {
             wasGrounded = player.isGrounded();
             return;
         }
         boolean grounded = player.isGrounded();
-        double tangentialSpeed = gravityDir.isVertical() ? Math.abs(player.getVelX()) : Math.abs(player.getVelY());
+        double tangentialSpeed = world.getGravityDir().isVertical() ? Math.abs(player.getVelX()) : Math.abs(player.getVelY());
         if (grounded) {
             if (!wasGrounded) {
                 spawnLandingBurst();
@@ -564,33 +599,39 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     }
 
     private void spawnStepDust() {
-        Point2D.Double normal = getGravityNormal(gravityDir);
-        Point2D.Double tangent = getGravityTangent(gravityDir);
-        double baseX = player.getX() + player.getWidth() / 2.0 + normal.x * player.getHeight() / 2.0;
-        double baseY = player.getY() + player.getHeight() / 2.0 + normal.y * player.getHeight() / 2.0;
+        GravityDir gravityDir = world.getGravityDir();
+        double normalX = gravityDir.getXSign();
+        double normalY = gravityDir.getYSign();
+        double tangentX = gravityDir.isVertical() ? 1 : 0;
+        double tangentY = gravityDir.isVertical() ? 0 : 1;
+        double baseX = player.getX() + player.getWidth() / 2.0 + normalX * player.getHeight() / 2.0;
+        double baseY = player.getY() + player.getHeight() / 2.0 + normalY * player.getHeight() / 2.0;
         for (int i = 0; i < 4; i++) {
-            double spread = (vhsNoise.nextDouble() * 2 - 1) * (gravityDir.isVertical() ? player.getWidth() : player.getHeight()) / 2.5;
-            double px = baseX + tangent.x * spread;
-            double py = baseY + tangent.y * spread;
-            double vx = -normal.x * (20 + vhsNoise.nextDouble() * 30) + tangent.x * (vhsNoise.nextDouble() * 30 - 15);
-            double vy = -normal.y * (20 + vhsNoise.nextDouble() * 30) + tangent.y * (vhsNoise.nextDouble() * 30 - 15);
-            addParticle(px, py, vx, vy, 0.35 + vhsNoise.nextDouble() * 0.15, 8 + vhsNoise.nextDouble() * 4, new Color(186, 178, 172, 180));
+            double spread = (effectsNoise.nextDouble() * 2 - 1) * (gravityDir.isVertical() ? player.getWidth() : player.getHeight()) / 2.5;
+            double px = baseX + tangentX * spread;
+            double py = baseY + tangentY * spread;
+            double vx = -normalX * (20 + effectsNoise.nextDouble() * 30) + tangentX * (effectsNoise.nextDouble() * 30 - 15);
+            double vy = -normalY * (20 + effectsNoise.nextDouble() * 30) + tangentY * (effectsNoise.nextDouble() * 30 - 15);
+            addParticle(px, py, vx, vy, 0.35 + effectsNoise.nextDouble() * 0.15, 8 + effectsNoise.nextDouble() * 4, DUST_COLOR);
         }
     }
 
     private void spawnLandingBurst() {
-        Point2D.Double normal = getGravityNormal(gravityDir);
-        Point2D.Double tangent = getGravityTangent(gravityDir);
-        double baseX = player.getX() + player.getWidth() / 2.0 + normal.x * player.getHeight() / 2.0;
-        double baseY = player.getY() + player.getHeight() / 2.0 + normal.y * player.getHeight() / 2.0;
+        GravityDir gravityDir = world.getGravityDir();
+        double normalX = gravityDir.getXSign();
+        double normalY = gravityDir.getYSign();
+        double tangentX = gravityDir.isVertical() ? 1 : 0;
+        double tangentY = gravityDir.isVertical() ? 0 : 1;
+        double baseX = player.getX() + player.getWidth() / 2.0 + normalX * player.getHeight() / 2.0;
+        double baseY = player.getY() + player.getHeight() / 2.0 + normalY * player.getHeight() / 2.0;
         for (int i = 0; i < 12; i++) {
-            double spread = (vhsNoise.nextDouble() * 2 - 1) * (gravityDir.isVertical() ? player.getWidth() : player.getHeight()) / 2.0;
-            double px = baseX + tangent.x * spread;
-            double py = baseY + tangent.y * spread;
-            double speed = 60 + vhsNoise.nextDouble() * 80;
-            double vx = -normal.x * speed + tangent.x * (vhsNoise.nextDouble() * 80 - 40);
-            double vy = -normal.y * speed + tangent.y * (vhsNoise.nextDouble() * 80 - 40);
-            addParticle(px, py, vx, vy, 0.5 + vhsNoise.nextDouble() * 0.2, 10 + vhsNoise.nextDouble() * 6, new Color(204, 192, 180, 200));
+            double spread = (effectsNoise.nextDouble() * 2 - 1) * (gravityDir.isVertical() ? player.getWidth() : player.getHeight()) / 2.0;
+            double px = baseX + tangentX * spread;
+            double py = baseY + tangentY * spread;
+            double speed = 60 + effectsNoise.nextDouble() * 80;
+            double vx = -normalX * speed + tangentX * (effectsNoise.nextDouble() * 80 - 40);
+            double vy = -normalY * speed + tangentY * (effectsNoise.nextDouble() * 80 - 40);
+            addParticle(px, py, vx, vy, 0.5 + effectsNoise.nextDouble() * 0.2, 10 + effectsNoise.nextDouble() * 6, LANDING_COLOR);
         }
     }
 
@@ -598,14 +639,16 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         if (!settings.isJumpEffectsEnabled()) {
             return;
         }
-        Point2D.Double normal = getGravityNormal(gravityDir);
-        double baseX = player.getX() + player.getWidth() / 2.0 + normal.x * player.getHeight() / 2.0;
-        double baseY = player.getY() + player.getHeight() / 2.0 + normal.y * player.getHeight() / 2.0;
+        GravityDir gravityDir = world.getGravityDir();
+        double normalX = gravityDir.getXSign();
+        double normalY = gravityDir.getYSign();
+        double baseX = player.getX() + player.getWidth() / 2.0 + normalX * player.getHeight() / 2.0;
+        double baseY = player.getY() + player.getHeight() / 2.0 + normalY * player.getHeight() / 2.0;
         for (int i = 0; i < 8; i++) {
-            double angle = (vhsNoise.nextDouble() * 0.6 - 0.3);
-            double vx = -normal.x * (80 + vhsNoise.nextDouble() * 60) + Math.cos(angle) * 10;
-            double vy = -normal.y * (80 + vhsNoise.nextDouble() * 60) + Math.sin(angle) * 10;
-            addParticle(baseX, baseY, vx, vy, 0.45 + vhsNoise.nextDouble() * 0.2, 14 + vhsNoise.nextDouble() * 6, new Color(172, 162, 162, 180));
+            double angle = (effectsNoise.nextDouble() * 0.6 - 0.3);
+            double vx = -normalX * (80 + effectsNoise.nextDouble() * 60) + Math.cos(angle) * 10;
+            double vy = -normalY * (80 + effectsNoise.nextDouble() * 60) + Math.sin(angle) * 10;
+            addParticle(baseX, baseY, vx, vy, 0.45 + effectsNoise.nextDouble() * 0.2, 14 + effectsNoise.nextDouble() * 6, SMOKE_COLOR);
         }
     }
 
@@ -616,62 +659,12 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         double baseX = player.getX() + player.getWidth() / 2.0;
         double baseY = player.getY() + player.getHeight() / 2.0;
         for (int i = 0; i < 36; i++) {
-            double angle = vhsNoise.nextDouble() * Math.PI * 2;
-            double speed = 90 + vhsNoise.nextDouble() * 180;
+            double angle = effectsNoise.nextDouble() * Math.PI * 2;
+            double speed = 90 + effectsNoise.nextDouble() * 180;
             double vx = Math.cos(angle) * speed;
             double vy = Math.sin(angle) * speed;
-            Color color = (i % 3 == 0) ? new Color(230, 98, 72, 220) : new Color(210, 162, 248, 200);
-            addParticle(baseX, baseY, vx, vy, 0.8 + vhsNoise.nextDouble() * 0.3, 12 + vhsNoise.nextDouble() * 10, color);
-        }
-    }
-
-    private void collectOrbs(Player target, boolean localPlayer) {
-        if (target == null) {
-            return;
-        }
-        for (int i = 0; i < orbs.size(); i++) {
-            FluxOrb orb = orbs.get(i);
-            boolean alreadyCollected = ((localOrbMask | remoteOrbMask) & (1L << i)) != 0;
-            boolean newlyCollected = orb.checkCollected(target) && !alreadyCollected;
-            if (newlyCollected) {
-                if (localPlayer) {
-                    localOrbMask |= (1L << i);
-                    SoundManager.playOrb();
-                    setToast("Flux orb secured!", new Color(154, 248, 196));
-                    screenShakeTimer = 0.3;
-                    screenShakeStrength = 3.5;
-                    orbStreak++;
-                    if (!multiplayerActive) {
-                        setCompanionToast("Streak x" + orbStreak + " – keep it up!", new Color(140, 222, 206));
-                    }
-                } else {
-                    remoteOrbMask |= (1L << i);
-                }
-            }
-            boolean collected = ((localOrbMask | remoteOrbMask) & (1L << i)) != 0;
-            orb.setCollected(collected);
-        }
-        if (!multiplayerActive && objectiveManager != null && objectiveManager.allOrbsCollected() && !gateUnlockAnnounced) {
-            gateUnlockAnnounced = true;
-            setCompanionToast("Gate unlocked – you’ve got this!", new Color(186, 214, 120));
-        }
-    }
-
-    private void updateCoopButtons() {
-        if (buttons == null || doors == null) {
-            return;
-        }
-        for (CoopButton button : buttons) {
-            boolean pressed = button.check(player);
-            if (multiplayerActive) {
-                pressed = button.check(player) || button.check(partner);
-            }
-            if (!pressed) {
-                button.check(player);
-            }
-        }
-        for (CoopDoor door : doors) {
-            door.update(buttons);
+            Color color = (i % 3 == 0) ? DEATH_EMBER_COLOR : DEATH_SPARK_COLOR;
+            addParticle(baseX, baseY, vx, vy, 0.8 + effectsNoise.nextDouble() * 0.3, 12 + effectsNoise.nextDouble() * 10, color);
         }
     }
 
@@ -681,7 +674,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         }
         MultiplayerSession.RemoteState remote = session.pollRemoteState();
         applyRemoteState(remote);
-        session.sendState(player.getX(), player.getY(), gravityDir, localOrbMask, localPaletteIndex, localVisorIndex, false, sharedRespawnsEnabled);
+        session.sendState(player.getX(), player.getY(), world.getGravityDir(), world.getLocalOrbMask(), localPaletteIndex, localVisorIndex, false, sharedRespawnsEnabled);
     }
 
     private void applyRemoteState(MultiplayerSession.RemoteState remote) {
@@ -720,17 +713,15 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
             remoteSharedRespawns = remote.sharedRespawns();
         }
         if (remote.orbMask() != null) {
-            remoteOrbMask = remote.orbMask();
+            world.setRemoteOrbMask(remote.orbMask());
         }
         if (remote.x() != null && remote.y() != null && remote.gravity() != null) {
             double velX = (remote.x() - partner.getX()) / lastRemoteInterval;
             double velY = (remote.y() - partner.getY()) / lastRemoteInterval;
-            partner.setVelocity(velX, velY);
-            partner.setPosition(remote.x(), remote.y());
-            partnerGravity = remote.gravity();
+            world.setPartnerState(remote.x(), remote.y(), velX, velY, remote.gravity());
         }
         if (remote.respawnSignal() && multiplayerActive && sharedRespawnsEnabled && remoteSharedRespawns) {
-            respawn(true);
+            world.respawn(true);
         }
         if (remote.startSignal()) {
             startMultiplayerFromRemote();
@@ -786,35 +777,49 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         multiplayerActive = true;
     }
 
-    private void handleCheckpoints() {
-        for (Checkpoint checkpoint : checkpoints) {
-            if (!checkpoint.isActivated() && checkpoint.check(player)) {
-                respawnPosition = new Point2D.Double(checkpoint.getPosition().x, checkpoint.getPosition().y);
-                respawnGravity = gravityDir;
-                setToast("Checkpoint reached", new Color(206, 166, 248));
-            }
+    @Override
+    public void onJump() {
+        spawnJumpSmoke();
+        SoundManager.playJump();
+    }
+
+    @Override
+    public void onOrbCollected(int index) {
+        SoundManager.playOrb();
+        setToast("Flux orb secured!", ORB_TOAST_COLOR);
+        screenShakeTimer = 0.3;
+        screenShakeStrength = 3.5;
+        orbStreak++;
+        if (!multiplayerActive) {
+            toastScratch.setLength(0);
+            toastScratch.append("Streak x").append(orbStreak).append(" – keep it up!");
+            setCompanionToast(toastScratch, STREAK_TOAST_COLOR);
         }
     }
 
-    private void respawn() {
-        respawn(false);
+    @Override
+    public void onAllOrbsCollected() {
+        if (!multiplayerActive) {
+            setCompanionToast("Gate unlocked – you’ve got this!", GATE_TOAST_COLOR);
+        }
+    }
+
+    @Override
+    public void onCheckpointReached(Checkpoint checkpoint) {
+        setToast("Checkpoint reached", CHECKPOINT_TOAST_COLOR);
     }
 
-    private void respawn(boolean fromRemote) {
-        deathCount++;
+    @Override
+    public void onRespawn(boolean fromRemote) {
         orbStreak = 0;
         idleTimer = 0;
-        quickRecoverArmed = false;
         if (!multiplayerActive) {
             if (deathlessRun) {
-                setCompanionToast("Deathless run interrupted", new Color(236, 158, 142));
+                setCompanionToast("Deathless run interrupted", SETBACK_TOAST_COLOR);
             }
             deathlessRun = false;
             maybeShowSoloHint();
         }
-        player.setPosition(respawnPosition.x, respawnPosition.y);
-        player.resetVelocity();
-        gravityDir = respawnGravity;
         deathEffectTimer = 1.0;
         screenShakeTimer = 0.6;
         screenShakeStrength = 8.0;
@@ -825,29 +830,10 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         }
     }
 
-    private void updateMovingPlatforms(double dt) {
-        for (MovingPlatform mover : movers) {
-            mover.update(dt);
-        }
-    }
-
-    private List<Platform> getAllPlatforms() {
-        platformScratch.clear();
-        platformScratch.addAll(platforms);
-        platformScratch.addAll(movers);
-        for (int i = 0; i < doors.size(); i++) {
-            CoopDoor door = doors.get(i);
-            if (!door.isOpen() && i < doorPlatforms.size()) {
-                platformScratch.add(doorPlatforms.get(i));
-            }
-        }
-        return platformScratch;
-    }
-
     private void updateSplash(double dt) {
         splashElapsed += dt;
         double target = Math.min(1.0, splashElapsed / splashDuration);
-        double wobble = (vhsNoise.nextDouble() - 0.5) * 0.08;
+        double wobble = (splashNoise.nextDouble() - 0.5) * 0.08;
         double easing = Math.min(1.0, dt * 4.0);
         fakeLoadProgress += (target - fakeLoadProgress) * easing;
         fakeLoadProgress = Math.max(0, Math.min(1.0, fakeLoadProgress + wobble * dt));
@@ -858,8 +844,8 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     }
 
     private void updateLevelLoading(double dt) {
-        double wobble = (vhsNoise.nextDouble() - 0.5) * 0.1;
-        double speed = 0.7 + vhsNoise.nextDouble() * 0.6;
+        double wobble = (splashNoise.nextDouble() - 0.5) * 0.1;
+        double speed = 0.7 + splashNoise.nextDouble() * 0.6;
         double target = Math.min(1.0, levelLoadProgress + speed * dt);
         double easing = Math.min(1.0, dt * 5.0);
         levelLoadProgress += (target - levelLoadProgress) * easing;
@@ -883,7 +869,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
                 finalMessageCharsRevealed++;
                 char ch = FINAL_ESCAPE_MESSAGE.charAt(finalMessageCharsRevealed - 1);
                 if (!Character.isWhitespace(ch)) {
-                    SoundManager.playTone(680 + vhsNoise.nextInt(120), 45, 0.35);
+                    SoundManager.playTone(680 + effectsNoise.nextInt(120), 45, 0.35);
                 }
             }
         }
@@ -915,19 +901,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         finalMessageCharsRevealed = 0;
     }
 
-    private void updateGravityCooldown(double dt) {
-        if (gravityCooldownRemaining > 0) {
-            gravityCooldownRemaining = Math.max(0, gravityCooldownRemaining - dt);
-        }
-    }
-
     private void updateAssistTimers(double dt) {
-        if (jumpBufferTimer > 0) {
-            jumpBufferTimer = Math.max(0, jumpBufferTimer - dt);
-        }
-        if (coyoteTimer > 0) {
-            coyoteTimer = Math.max(0, coyoteTimer - dt);
-        }
         if (orbPingTimer > 0) {
             orbPingTimer = Math.max(0, orbPingTimer - dt);
             if (orbPingTimer == 0) {
@@ -949,7 +923,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         if (toastTimer > 0) {
             toastTimer = Math.max(0, toastTimer - dt);
             if (toastTimer == 0) {
-                toastMessage = "";
+                toastMessage.setLength(0);
             }
         }
         if (companionChatCooldown > 0) {
@@ -958,17 +932,18 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         updateParticles(dt);
     }
 
-    private void setToast(String message, Color color) {
-        toastMessage = message;
+    private void setToast(CharSequence message, Color color) {
+        toastMessage.setLength(0);
+        toastMessage.append(message);
         toastColor = color;
         toastTimer = 2.2;
     }
 
-    private void setCompanionToast(String message, Color color) {
+    private void setCompanionToast(CharSequence message, Color color) {
         if (multiplayerActive) {
             return;
         }
-        if (companionChatCooldown > 0 && !toastMessage.isEmpty()) {
+        if (companionChatCooldown > 0 && toastMessage.length() > 0) {
             return;
         }
         setToast(message, color);
@@ -980,30 +955,19 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
             return;
         }
         String hint;
-        if (deathCount == 3) {
+        if (world.getDeathCount() == 3) {
             hint = "Try resting on a wall before flipping gravity.";
-        } else if (deathCount == 5) {
+        } else if (world.getDeathCount() == 5) {
             hint = "Remember: orbs unlock the gate; scout their glow.";
-        } else if (deathCount > 0 && deathCount % 7 == 0) {
+        } else if (world.getDeathCount() > 0 && world.getDeathCount() % 7 == 0) {
             hint = "Hold jump a beat longer for extra lift.";
         } else {
             return;
         }
         if (!hint.equals(lastHintMessage)) {
             lastHintMessage = hint;
-            setCompanionToast(hint, new Color(214, 186, 132));
-        }
-    }
-
-    private boolean collidesWithPlatform(double px, double py) {
-        for (Platform p : platforms) {
-            boolean overlapX = px + player.getWidth() > p.getX() && px < p.getX() + p.getWidth();
-            boolean overlapY = py + player.getHeight() > p.getY() && py < p.getY() + p.getHeight();
-            if (overlapX && overlapY) {
-                return true;
-            }
+            setCompanionToast(hint, HINT_TOAST_COLOR);
         }
-        return false;
     }
 
     private void updateSoloCompany(double dt) {
@@ -1013,6 +977,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         double targetX = player.getX() - 26;
         double targetY = player.getY() - 32;
         companion.update(dt, targetX, targetY);
+        ObjectiveManager objectiveManager = world.getObjectiveManager();
 
         radioTimer += dt;
         if (radioTimer >= 11.0) {
@@ -1023,13 +988,13 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         double speed = Math.abs(player.getVelX()) + Math.abs(player.getVelY());
         if (speed < 6 && player.isGrounded()) {
             idleTimer += dt;
-            if (idleTimer > 4.5 && vhsNoise.nextDouble() < dt * 1.5) {
+            if (idleTimer > 4.5 && effectsNoise.nextDouble() < dt * 1.5) {
                 addParticle(player.getX() + player.getWidth() / 2.0, player.getY() + player.getHeight() / 2.0,
-                        (vhsNoise.nextDouble() - 0.5) * 30,
-                        (vhsNoise.nextDouble() - 0.5) * 24,
-                        0.6 + vhsNoise.nextDouble() * 0.4,
-                        7 + vhsNoise.nextDouble() * 5,
-                        new Color(162, 188, 210, 120));
+                        (effectsNoise.nextDouble() - 0.5) * 30,
+                        (effectsNoise.nextDouble() - 0.5) * 24,
+                        0.6 + effectsNoise.nextDouble() * 0.4,
+                        7 + effectsNoise.nextDouble() * 5,
+                        IDLE_MOTE_COLOR);
             }
         } else {
             idleTimer = 0;
@@ -1037,55 +1002,16 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
 
         if (objectiveManager != null && objectiveManager.getParTimeSeconds() > 0) {
             double delta = objectiveManager.getParTimeSeconds() - objectiveManager.getElapsedTime();
-            if (delta <= 3 && companionChatCooldown <= 0 && toastMessage.isEmpty()) {
-                setCompanionToast(delta >= 0 ? "Ahead of par by " + String.format("%.1fs", delta) : "Par slipping by " + String.format("%.1fs", -delta),
-                        delta >= 0 ? new Color(146, 218, 170) : new Color(224, 158, 132));
+            if (delta <= 3 && companionChatCooldown <= 0 && toastMessage.length() == 0) {
+                toastScratch.setLength(0);
+                toastScratch.append(delta >= 0 ? "Ahead of par by " : "Par slipping by ");
+                long tenths = Math.round(Math.abs(delta) * 10);
+                toastScratch.append(tenths / 10).append('.').append(tenths % 10).append('s');
+                setCompanionToast(toastScratch, delta >= 0 ? AHEAD_TOAST_COLOR : BEHIND_TOAST_COLOR);
             }
         }
     }
 
-    private void updateGroundedState() {
-        if (player.isGrounded()) {
-            coyoteTimer = 0.16;
-            quickRecoverArmed = true;
-            applyMovingPlatformCarry();
-        }
-    }
-
-    private void applyMovingPlatformCarry() {
-        if (movers == null) {
-            return;
-        }
-        for (MovingPlatform mover : movers) {
-            if (isSupportedBy(mover, gravityDir)) {
-                player.setPosition(player.getX() + mover.getDeltaX(), player.getY() + mover.getDeltaY());
-                break;
-            }
-        }
-    }
-
-    private boolean isSupportedBy(MovingPlatform mover, GravityDir dir) {
-        double px = player.getX();
-        double py = player.getY();
-        double pw = player.getWidth();
-        double ph = player.getHeight();
-        boolean overlapX = px + pw > mover.getX() && px < mover.getX() + mover.getWidth();
-        boolean overlapY = py + ph > mover.getY() && py < mover.getY() + mover.getHeight();
-        double epsilon = 0.6;
-        switch (dir) {
-            case DOWN:
-                return overlapX && Math.abs(py + ph - mover.getY()) <= epsilon;
-            case UP:
-                return overlapX && Math.abs(py - (mover.getY() + mover.getHeight())) <= epsilon;
-            case LEFT:
-                return overlapY && Math.abs(px - (mover.getX() + mover.getWidth())) <= epsilon;
-            case RIGHT:
-                return overlapY && Math.abs(px + pw - mover.getX()) <= epsilon;
-            default:
-                return false;
-        }
-    }
-
     private String[] getSoloBroadcasts() {
         return SOLO_BROADCASTS;
     }
@@ -1120,34 +1046,8 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         return Math.max(0.0, Math.min(1.0, current / (double) finalSolo));
     }
 
-    private void changeGravity(GravityDir newDir) {
-        if (gravityLocked || gravityDir == newDir || gravityCooldownRemaining > 0) {
-            return;
-        }
-
-        GravityDir previousDir = gravityDir;
-        Point2D.Double previousPos = new Point2D.Double(player.getX(), player.getY());
-        gravityDir = newDir;
-        player.resetVelocity();
-
-        boolean reverted = false;
-        if (collidesWithPlatform(player.getX(), player.getY())) {
-            Point2D.Double safePos = lastSafeGroundedPos.getOrDefault(newDir, respawnPosition);
-            player.setPosition(safePos.x, safePos.y);
-            if (collidesWithPlatform(player.getX(), player.getY())) {
-                gravityDir = previousDir;
-                player.setPosition(previousPos.x, previousPos.y);
-                reverted = true;
-            }
-        }
-
-        if (!reverted && gravityDir == newDir) {
-            gravityCooldownRemaining = GRAVITY_COOLDOWN;
-        }
-    }
-
     private void toggleGravityLock() {
-        gravityLocked = !gravityLocked;
+        boolean gravityLocked = world.toggleGravityLock();
         setToast(gravityLocked ? "Gravity lock enabled" : "Gravity lock off", new Color(146, 218, 170));
     }
 
@@ -1160,7 +1060,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     private void triggerOrbPing() {
         double bestDist = Double.MAX_VALUE;
         FluxOrb best = null;
-        for (FluxOrb orb : orbs) {
+        for (FluxOrb orb : world.getOrbs()) {
             if (orb.isCollected()) {
                 continue;
             }
@@ -1197,34 +1097,31 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     }
 
     private void recoverToLastSafe() {
-        Point2D.Double safe = lastSafeGroundedPos.get(gravityDir);
-        if (safe == null) {
+        if (!world.recoverToLastSafe()) {
             return;
         }
-        player.setPosition(safe.x, safe.y);
-        player.resetVelocity();
-        quickRecoverArmed = false;
         setToast("Returned to last footing", new Color(156, 204, 214));
     }
 
-    private void onLevelComplete() {
-        double elapsed = objectiveManager.getElapsedTime();
+    @Override
+    public void onLevelComplete() {
+        double elapsed = world.getObjectiveManager().getElapsedTime();
         lastCompletedIndex = saveData.currentLevelIndex;
         double best = saveData.bestTimes[lastCompletedIndex];
         boolean newBestTime = best == 0 || elapsed < best;
         if (best == 0 || elapsed < best) {
             saveData.bestTimes[lastCompletedIndex] = elapsed;
         }
-        String medal = determineMedal(elapsed, objectiveManager.getParTimeSeconds());
+        String medal = determineMedal(elapsed, world.getObjectiveManager().getParTimeSeconds());
         saveData.bestMedals[lastCompletedIndex] = medal;
         int previousBestDeaths = saveData.bestDeaths[lastCompletedIndex];
-        saveData.bestDeaths[lastCompletedIndex] = (saveData.bestDeaths[lastCompletedIndex] == 0) ? deathCount : Math.min(saveData.bestDeaths[lastCompletedIndex], deathCount);
+        saveData.bestDeaths[lastCompletedIndex] = (saveData.bestDeaths[lastCompletedIndex] == 0) ? world.getDeathCount() : Math.min(saveData.bestDeaths[lastCompletedIndex], world.getDeathCount());
         if (lastCompletedIndex + 1 < levelManager.getLevelCount()) {
             saveData.unlockedLevels = Math.max(saveData.unlockedLevels, lastCompletedIndex + 2);
             saveData.currentLevelIndex = lastCompletedIndex + 1;
         }
-        if (!multiplayerActive && (newBestTime || (previousBestDeaths == 0 || deathCount < previousBestDeaths))) {
-            setCompanionToast("New personal best logged!", new Color(178, 236, 196));
+        if (!multiplayerActive && (newBestTime || (previousBestDeaths == 0 || world.getDeathCount() < previousBestDeaths))) {
+            setCompanionToast("New personal best logged!", BEST_TOAST_COLOR);
         }
         finalEscapeSequenceActive = !multiplayerActive && lastCompletedIndex == getFinalSoloLevelIndex();
         screenEffectsCalmOverride = finalEscapeSequenceActive;
@@ -1251,11 +1148,23 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
+        long now = System.nanoTime();
+        fpsFrames++;
+        fpsTimer += (now - lastFrameNanos) / 1_000_000_000.0;
+        lastFrameNanos = now;
+        if (fpsTimer >= 1.0) {
+            fpsDisplay = fpsFrames / fpsTimer;
+            fpsFrames = 0;
+            fpsTimer = 0;
+        }
         ensureBuffers(BASE_WIDTH, BASE_HEIGHT);
         Graphics2D sceneG = sceneBuffer.createGraphics();
         clearImage(sceneBuffer, sceneG);
         sceneG.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-        renderScene(sceneG);
+        synchronized (worldLock) {
+            renderAlpha = gameState == GameState.IN_GAME ? gameLoop.getInterpolationAlpha() : 1.0;
+            renderScene(sceneG);
+        }
         sceneG.dispose();
 
         BufferedImage processed = settings.isScreenProcessingEnabled() ? applyScreenEffects(sceneBuffer) : sceneBuffer;
@@ -1280,8 +1189,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
             sceneBuffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
             distortionBuffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
             smearBuffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-            tintBufferCool = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-            tintBufferWarm = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            fisheye = new FisheyeTable(width, height);
         }
     }
 
@@ -1353,113 +1261,128 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         int width = source.getWidth();
         int height = source.getHeight();
         ensureBuffers(width, height);
-        BufferedImage distorted = distortionBuffer;
+        postPipeline.beginFrame();
+        postSource = source;
         double stress = getScreenStress();
 
         if (settings.isScreenDistortionEnabled()) {
-            boolean heavyDistortion = stress > 0.12 || screenShakeTimer > 0.01 || screenShakeStrength > 0.01;
-            if (!heavyDistortion && stress < 0.02) {
-                Graphics2D copy = distorted.createGraphics();
-                copy.drawImage(source, 0, 0, null);
-                copy.dispose();
+            distortHeavy = stress > 0.12 || screenShakeTimer > 0.01 || screenShakeStrength > 0.01;
+            if (!distortHeavy && stress < 0.02) {
+                postPipeline.runTiled(POST_DISTORT, height, copyRows);
             } else {
-                int[] src = ((DataBufferInt) source.getRaster().getDataBuffer()).getData();
-                int[] dst = ((DataBufferInt) distorted.getRaster().getDataBuffer()).getData();
-
-                double cx = width / 2.0;
-                double cy = height / 2.0;
-                double fishEyeStrength = 0.18 + 0.14 * stress;
-                double aberration = 0.6 + 3.2 * Math.min(1.0, deathEffectTimer) + 1.1 * stress;
+                distortStrength = 0.18 + 0.14 * stress;
+                distortAberration = 0.6 + 3.2 * Math.min(1.0, deathEffectTimer) + 1.1 * stress;
                 double wobble = 0.35 * Math.sin(System.nanoTime() / 1_000_000_000.0 * 4.0) + stress * 0.18 * Math.sin(System.nanoTime() / 1_000_000_000.0 * 7.2);
-                aberration += wobble;
+                distortAberration += wobble;
 
                 double shakeDuration = 0.6;
                 double shakeScale = screenShakeTimer > 0 ? screenShakeStrength * (screenShakeTimer / shakeDuration) : 0.0;
                 shakeScale += 0.16 * stress;
-                double shakeX = (vhsNoise.nextDouble() * 2 - 1) * shakeScale;
-                double shakeY = (vhsNoise.nextDouble() * 2 - 1) * shakeScale;
-
-                for (int y = 0; y < height; y++) {
-                    double dy = (y - cy - shakeY) / cy;
-                    int rowOffset = y * width;
-                    for (int x = 0; x < width; x++) {
-                        double dx = (x - cx - shakeX) / cx;
-                        double r = Math.sqrt(dx * dx + dy * dy);
-                        double distort = 1 + fishEyeStrength * r * r;
-                        double sampleX = cx + dx * distort * cx + shakeX;
-                        double sampleY = cy + dy * distort * cy + shakeY;
-
-                        int baseX = clampToInt(Math.round(sampleX), 0, width - 1);
-                        int baseY = clampToInt(Math.round(sampleY), 0, height - 1);
-                        int baseRgb = src[baseY * width + baseX];
-                        if (!heavyDistortion) {
-                            dst[rowOffset + x] = baseRgb;
-                            continue;
-                        }
-
-                        int alpha = (baseRgb >>> 24) & 0xFF;
-                        int rSample = sampleChannel(src, sampleX + aberration, sampleY - aberration, width, height, 16);
-                        int gSample = sampleChannel(src, sampleX, sampleY, width, height, 8);
-                        int bSample = sampleChannel(src, sampleX - aberration, sampleY + aberration, width, height, 0);
-
-                        int rgb = (alpha << 24) | (rSample << 16) | (gSample << 8) | bSample;
-                        dst[rowOffset + x] = rgb;
-                    }
-                }
+                distortShakeX = (vhsNoise.nextDouble() * 2 - 1) * shakeScale;
+                distortShakeY = (vhsNoise.nextDouble() * 2 - 1) * shakeScale;
+                fisheye.setStrength(distortStrength);
+                postPipeline.runTiled(POST_DISTORT, height, distortRows);
             }
         } else {
-            Graphics2D copy = distorted.createGraphics();
-            copy.drawImage(source, 0, 0, null);
-            copy.dispose();
+            postPipeline.runTiled(POST_DISTORT, height, copyRows);
         }
 
-        BufferedImage processed = settings.isScreenDistortionEnabled() ? addColorSmear(distorted) : distorted;
+        BufferedImage processed = distortionBuffer;
+        if (settings.isScreenDistortionEnabled()) {
+            colorSmear.setup(2 + (int) Math.round(stress * 3), 1 + (int) Math.round(stress * 2),
+                    (float) (0.35 + stress * 0.2), (float) (0.3 + stress * 0.15));
+            postPipeline.runTiled(POST_SMEAR, height, smearRows);
+            processed = smearBuffer;
+        }
 
         if (!settings.isScreenOverlayEnabled()) {
             return processed;
         }
 
-        Graphics2D overlay = processed.createGraphics();
-        overlay.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        boolean allowJitter = gameState == GameState.IN_GAME || gameState == GameState.PAUSE || gameState == GameState.LEVEL_COMPLETE;
-        drawCrtOverlay(overlay, allowJitter);
-        overlay.dispose();
+        // The overlay's noise specks come from the shared vhsNoise stream, so it is drawn in one
+        // pass to keep the sequence (and the picture) the same as before.
+        BufferedImage overlayTarget = processed;
+        postPipeline.runSerial(POST_OVERLAY, () -> {
+            Graphics2D overlay = overlayTarget.createGraphics();
+            overlay.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            boolean allowJitter = gameState == GameState.IN_GAME || gameState == GameState.PAUSE || gameState == GameState.LEVEL_COMPLETE;
+            drawCrtOverlay(overlay, allowJitter);
+            overlay.dispose();
+        });
         return processed;
     }
 
-    private BufferedImage addColorSmear(BufferedImage source) {
-        BufferedImage smeared = smearBuffer;
-        Graphics2D g2d = smeared.createGraphics();
-        clearImage(smeared, g2d);
-        g2d.drawImage(source, 0, 0, null);
+    // The scene always starts with the opaque backdrop, so a straight copy matches drawing it over
+    // the previous frame.
+    private void copyRows(int fromRow, int toRow) {
+        int width = postSource.getWidth();
+        int[] src = ((DataBufferInt) postSource.getRaster().getDataBuffer()).getData();
+        int[] dst = ((DataBufferInt) distortionBuffer.getRaster().getDataBuffer()).getData();
+        System.arraycopy(src, fromRow * width, dst, fromRow * width, (toRow - fromRow) * width);
+    }
+
+    private void distortRows(int fromRow, int toRow) {
+        int width = postSource.getWidth();
+        int height = postSource.getHeight();
+        int[] src = ((DataBufferInt) postSource.getRaster().getDataBuffer()).getData();
+        int[] dst = ((DataBufferInt) distortionBuffer.getRaster().getDataBuffer()).getData();
+        float[] offsetX = fisheye.getOffsetX();
+        float[] offsetY = fisheye.getOffsetY();
+        short[] pixelOffsetX = fisheye.getPixelOffsetX();
+        short[] pixelOffsetY = fisheye.getPixelOffsetY();
+        double aberration = distortAberration;
+        // Shake moves the lens centre; the table is looked up at the nearest whole-pixel shift.
+        int shiftX = (int) Math.round(distortShakeX);
+        int shiftY = (int) Math.round(distortShakeY);
+        boolean heavyDistortion = distortHeavy;
+
+        for (int y = fromRow; y < toRow; y++) {
+            int rowOffset = y * width;
+            int lensRow = fisheye.rowStart(y - shiftY);
+            for (int x = 0; x < width; x++) {
+                int lens = lensRow + fisheye.column(x - shiftX);
+                int baseX = clampToInt(x + pixelOffsetX[lens], 0, width - 1);
+                int baseY = clampToInt(y + pixelOffsetY[lens], 0, height - 1);
+                int baseRgb = src[baseY * width + baseX];
+                if (!heavyDistortion) {
+                    dst[rowOffset + x] = baseRgb;
+                    continue;
+                }
 
-        BufferedImage coolShift = tintImage(source, new Color(126, 86, 196, 120), tintBufferCool);
-        BufferedImage warmShift = tintImage(source, new Color(196, 122, 74, 120), tintBufferWarm);
+                double sampleX = x + offsetX[lens];
+                double sampleY = y + offsetY[lens];
+                int alpha = (baseRgb >>> 24) & 0xFF;
+                int rSample = sampleChannel(src, sampleX + aberration, sampleY - aberration, width, height, 16);
+                int gSample = (baseRgb >> 8) & 0xFF;
+                int bSample = sampleChannel(src, sampleX - aberration, sampleY + aberration, width, height, 0);
 
-        double stress = getScreenStress();
-        int offset = 2 + (int) Math.round(stress * 3);
-        g2d.setComposite(java.awt.AlphaComposite.SrcOver.derive((float) (0.35 + stress * 0.2)));
-        g2d.drawImage(coolShift, offset, 0, null);
-        g2d.setComposite(java.awt.AlphaComposite.SrcOver.derive((float) (0.3 + stress * 0.15)));
-        g2d.drawImage(warmShift, -offset, 1 + (int) Math.round(stress * 2), null);
-        g2d.dispose();
-        return smeared;
-    }
-
-    private BufferedImage tintImage(BufferedImage source, Color tint, BufferedImage target) {
-        Graphics2D g2d = target.createGraphics();
-        clearImage(target, g2d);
-        g2d.drawImage(source, 0, 0, null);
-        g2d.setComposite(java.awt.AlphaComposite.SrcAtop);
-        g2d.setColor(tint);
-        g2d.fillRect(0, 0, source.getWidth(), source.getHeight());
-        g2d.dispose();
-        return target;
+                int rgb = (alpha << 24) | (rSample << 16) | (gSample << 8) | bSample;
+                dst[rowOffset + x] = rgb;
+            }
+        }
+    }
+
+    private void smearRows(int fromRow, int toRow) {
+        int[] src = ((DataBufferInt) distortionBuffer.getRaster().getDataBuffer()).getData();
+        int[] dst = ((DataBufferInt) smearBuffer.getRaster().getDataBuffer()).getData();
+        colorSmear.apply(src, dst, smearBuffer.getWidth(), smearBuffer.getHeight(), fromRow, toRow);
+    }
+
+    private String describePostTimings() {
+        StringBuilder text = new StringBuilder("Post x").append(postPipeline.getParallelism())
+                .append(colorSmear.isVectorized() ? " simd:" : ":");
+        for (int i = 0; i < postPipeline.getStageCount(); i++) {
+            if (postPipeline.didRun(i)) {
+                text.append(' ').append(postPipeline.getStageName(i)).append(String.format(" %.2f", postPipeline.getStageMillis(i)));
+            }
+        }
+        return text.append(" ms").toString();
     }
 
     private int sampleChannel(int[] src, double sx, double sy, int width, int height, int shift) {
-        int x = clampToInt(Math.round(sx), 0, width - 1);
-        int y = clampToInt(Math.round(sy), 0, height - 1);
+        // Truncating v + 0.5 only differs from Math.round below zero, where both clamp to 0.
+        int x = clampToInt((long) (sx + 0.5), 0, width - 1);
+        int y = clampToInt((long) (sy + 0.5), 0, height - 1);
         return (src[y * width + x] >> shift) & 0xFF;
     }
 
@@ -1473,7 +1396,18 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         return (int) value;
     }
 
+    // The backdrop never changes, so it is painted once and blitted every frame.
     private void drawBackground(Graphics2D g2d) {
+        if (backgroundImage == null) {
+            backgroundImage = new BufferedImage(BASE_WIDTH, BASE_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D bg = backgroundImage.createGraphics();
+            paintBackground(bg);
+            bg.dispose();
+        }
+        g2d.drawImage(backgroundImage, 0, 0, null);
+    }
+
+    private void paintBackground(Graphics2D g2d) {
         GradientPaint topGlow = new GradientPaint(0, 0, new Color(14, 10, 24), 0, BASE_HEIGHT, new Color(6, 4, 14));
         g2d.setPaint(topGlow);
         g2d.fillRect(0, 0, BASE_WIDTH, BASE_HEIGHT);
@@ -1665,39 +1599,41 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
 
         AffineTransform old = g2d.getTransform();
         g2d.translate(previewX, previewY);
-        g2d.scale(previewW / (double) BASE_WIDTH, previewH / (double) BASE_HEIGHT);
+        int levelWidth = world.getChunks().getWidth();
+        int levelHeight = world.getChunks().getHeight();
+        g2d.scale(previewW / (double) levelWidth, previewH / (double) levelHeight);
         g2d.setStroke(new BasicStroke(1.2f));
         g2d.setColor(new Color(42, 32, 54, 120));
-        for (int x = 0; x < BASE_WIDTH; x += 80) {
-            g2d.drawLine(x, 0, x, BASE_HEIGHT);
+        for (int x = 0; x < levelWidth; x += 80) {
+            g2d.drawLine(x, 0, x, levelHeight);
         }
-        for (int y = 0; y < BASE_HEIGHT; y += 60) {
-            g2d.drawLine(0, y, BASE_WIDTH, y);
+        for (int y = 0; y < levelHeight; y += 60) {
+            g2d.drawLine(0, y, levelWidth, y);
         }
 
-        int platformCount = platforms == null ? 0 : (int) Math.round(platforms.size() * builtFraction);
-        int moverCount = movers == null ? 0 : (int) Math.round(movers.size() * builtFraction);
-        int spikeCount = spikes == null ? 0 : (int) Math.round(spikes.size() * builtFraction);
-        int orbCount = orbs == null ? 0 : (int) Math.round(orbs.size() * builtFraction);
+        int platformCount = world.getPlatforms() == null ? 0 : (int) Math.round(world.getPlatforms().size() * builtFraction);
+        int moverCount = world.getMovers() == null ? 0 : (int) Math.round(world.getMovers().size() * builtFraction);
+        int spikeCount = world.getSpikes() == null ? 0 : (int) Math.round(world.getSpikes().size() * builtFraction);
+        int orbCount = world.getOrbs() == null ? 0 : (int) Math.round(world.getOrbs().size() * builtFraction);
 
         g2d.setColor(new Color(118, 94, 156));
         for (int i = 0; i < platformCount; i++) {
-            Platform p = platforms.get(i);
+            Platform p = world.getPlatforms().get(i);
             g2d.fillRect((int) p.getX(), (int) p.getY(), p.getWidth(), p.getHeight());
         }
         g2d.setColor(new Color(108, 136, 180));
         for (int i = 0; i < moverCount; i++) {
-            MovingPlatform m = movers.get(i);
+            MovingPlatform m = world.getMovers().get(i);
             g2d.fillRect((int) m.getX(), (int) m.getY(), m.getWidth(), m.getHeight());
         }
         g2d.setColor(new Color(186, 104, 126, 220));
         for (int i = 0; i < spikeCount; i++) {
-            Spike spike = spikes.get(i);
+            Spike spike = world.getSpikes().get(i);
             g2d.fillRect((int) spike.getX(), (int) spike.getY(), spike.getWidth(), spike.getHeight());
         }
         g2d.setColor(new Color(138, 214, 186, 180));
         for (int i = 0; i < orbCount; i++) {
-            FluxOrb orb = orbs.get(i);
+            FluxOrb orb = world.getOrbs().get(i);
             int radius = orb.getRadius();
             int cx = (int) orb.getPosition().x - radius;
             int cy = (int) orb.getPosition().y - radius;
@@ -1705,7 +1641,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         }
 
         g2d.setColor(new Color(214, 168, 112, 180));
-        ExitGate gate = this.exitGate;
+        ExitGate gate = world.getExitGate();
         if (gate != null && builtFraction > 0.65) {
             g2d.fillRoundRect((int) gate.getX(), (int) gate.getY(), gate.getWidth(), gate.getHeight(), 8, 8);
         }
@@ -2131,20 +2067,50 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     }
 
     private void drawWorld(Graphics2D g2d) {
-        for (Platform platform : platforms) {
-            drawPlatformBlock(g2d, platform, new Color(42, 28, 60), new Color(98, 62, 124));
-        }
-        for (MovingPlatform mover : movers) {
-            drawPlatformBlock(g2d, mover, new Color(64, 36, 78), new Color(132, 82, 154));
-        }
-        exitGate.draw(g2d);
-        for (Checkpoint checkpoint : checkpoints) {
-            checkpoint.draw(g2d);
-        }
-        for (Spike spike : spikes) {
-            spike.draw(g2d);
-        }
-        for (FluxOrb orb : orbs) {
+        WorldChunks chunks = world.getChunks();
+        cameraX = Math.round(chunks.getCameraX(player.getRenderX(renderAlpha) + player.getWidth() / 2.0));
+        cameraY = Math.round(chunks.getCameraY(player.getRenderY(renderAlpha) + player.getHeight() / 2.0));
+        AffineTransform oldTransform = g2d.getTransform();
+        g2d.translate(-cameraX, -cameraY);
+        drawWorldLayers(g2d, chunks);
+        g2d.setTransform(oldTransform);
+    }
+
+    // Only chunks the camera overlaps are drawn, so a frame costs what is on screen however large
+    // the level is.
+    private void drawWorldLayers(Graphics2D g2d, WorldChunks chunks) {
+        double viewX = cameraX - VIEW_MARGIN;
+        double viewY = cameraY - VIEW_MARGIN;
+        double viewW = BASE_WIDTH + VIEW_MARGIN * 2;
+        double viewH = BASE_HEIGHT + VIEW_MARGIN * 2;
+        staticLayer.draw(g2d, chunks, cameraX, cameraY, BASE_WIDTH, BASE_HEIGHT);
+        List<MovingPlatform> movers = world.getMovers();
+        int visible = chunks.queryMovers(viewX, viewY, viewW, viewH);
+        for (int i = 0; i < visible; i++) {
+            MovingPlatform mover = movers.get(chunks.getResult(i));
+            drawPlatformBlock(g2d, (int) mover.getRenderX(renderAlpha), (int) mover.getRenderY(renderAlpha), mover.getWidth(), mover.getHeight(),
+                    MOVER_BASE_COLOR, MOVER_HIGHLIGHT_COLOR);
+        }
+        ExitGate exitGate = world.getExitGate();
+        if (isInView(exitGate.getX(), exitGate.getY(), exitGate.getWidth(), exitGate.getHeight())) {
+            exitGate.draw(g2d);
+        }
+        for (Checkpoint checkpoint : world.getCheckpoints()) {
+            if (isInView(checkpoint.getPosition().x - checkpoint.getRadius(), checkpoint.getPosition().y - checkpoint.getRadius(),
+                    checkpoint.getRadius() * 2, checkpoint.getRadius() * 2)) {
+                checkpoint.draw(g2d);
+            }
+        }
+        List<Spike> spikes = world.getSpikes();
+        visible = chunks.querySpikes(viewX, viewY, viewW, viewH);
+        for (int i = 0; i < visible; i++) {
+            spikes.get(chunks.getResult(i)).draw(g2d);
+        }
+        for (FluxOrb orb : world.getOrbs()) {
+            if (!isInView(orb.getPosition().x - orb.getRadius(), orb.getPosition().y - orb.getRadius(),
+                    orb.getRadius() * 2, orb.getRadius() * 2)) {
+                continue;
+            }
             orb.draw(g2d);
             if (orbPingTimer > 0 && orb == orbPingTarget) {
                 drawOrbPing(g2d, orb);
@@ -2153,22 +2119,27 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         if (!multiplayerActive) {
             drawRespawnBeacon(g2d);
         }
-        if (buttons != null) {
-            for (CoopButton button : buttons) {
-                button.draw(g2d);
+        if (world.getButtons() != null) {
+            for (CoopButton button : world.getButtons()) {
+                if (isInView(button.getX(), button.getY(), button.getWidth(), button.getHeight())) {
+                    button.draw(g2d);
+                }
             }
         }
-        if (doors != null) {
-            for (CoopDoor door : doors) {
-                door.draw(g2d);
+        if (world.getDoors() != null) {
+            for (CoopDoor door : world.getDoors()) {
+                if (isInView(door.getX(), door.getY(), door.getWidth(), door.getHeight())) {
+                    door.draw(g2d);
+                }
             }
         }
+        drawCrates(g2d);
         drawParticles(g2d);
         Color[] localPalette = getPalette(localPaletteIndex);
-        player.draw(g2d, gravityDir, localPalette[0], localPalette[1], getVisorColor(localVisorIndex));
+        player.draw(g2d, world.getGravityDir(), localPalette[0], localPalette[1], getVisorColor(localVisorIndex), renderAlpha);
         if (multiplayerActive) {
             Color[] partnerPalette = getPalette(remotePaletteIndex);
-            partner.draw(g2d, partnerGravity, partnerPalette[0], partnerPalette[1], getVisorColor(remoteVisorIndex));
+            partner.draw(g2d, world.getPartnerGravity(), partnerPalette[0], partnerPalette[1], getVisorColor(remoteVisorIndex));
         } else if (companion != null) {
             companion.draw(g2d);
         }
@@ -2217,7 +2188,10 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
             p.vx *= 0.96;
             p.vy *= 0.96;
             if (p.life >= p.maxLife) {
-                particles.remove(i);
+                int last = particles.size() - 1;
+                particles.set(i, particles.get(last));
+                particles.remove(last);
+                particlePool.add(p);
             }
         }
     }
@@ -2246,23 +2220,9 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     }
 
     private void addParticle(double x, double y, double vx, double vy, double life, double size, Color color) {
-        particles.add(new Particle(x, y, vx, vy, life, size, color));
-    }
-
-    private Point2D.Double getGravityNormal(GravityDir dir) {
-        return switch (dir) {
-            case DOWN -> new Point2D.Double(0, 1);
-            case UP -> new Point2D.Double(0, -1);
-            case LEFT -> new Point2D.Double(-1, 0);
-            case RIGHT -> new Point2D.Double(1, 0);
-        };
-    }
-
-    private Point2D.Double getGravityTangent(GravityDir dir) {
-        return switch (dir) {
-            case DOWN, UP -> new Point2D.Double(1, 0);
-            case LEFT, RIGHT -> new Point2D.Double(0, 1);
-        };
+        Particle p = particlePool.isEmpty() ? new Particle() : particlePool.remove(particlePool.size() - 1);
+        p.reset(x, y, vx, vy, life, size, color);
+        particles.add(p);
     }
 
     private static final class Particle {
@@ -2271,15 +2231,16 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         double vx;
         double vy;
         double life;
-        final double maxLife;
-        final double size;
-        final Color color;
+        double maxLife;
+        double size;
+        Color color;
 
-        Particle(double x, double y, double vx, double vy, double maxLife, double size, Color color) {
+        void reset(double x, double y, double vx, double vy, double maxLife, double size, Color color) {
             this.x = x;
             this.y = y;
             this.vx = vx;
             this.vy = vy;
+            this.life = 0;
             this.maxLife = maxLife;
             this.size = size;
             this.color = color;
@@ -2319,12 +2280,79 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         }
     }
 
-    private void drawPlatformBlock(Graphics2D g2d, Platform platform, Color base, Color highlight) {
-        int x = (int) platform.getX();
-        int y = (int) platform.getY();
-        int w = platform.getWidth();
-        int h = platform.getHeight();
+    private boolean isInView(double x, double y, double w, double h) {
+        return overlaps(x, y, w, h, cameraX - VIEW_MARGIN, cameraY - VIEW_MARGIN, BASE_WIDTH + VIEW_MARGIN * 2, BASE_HEIGHT + VIEW_MARGIN * 2);
+    }
+
+    private static boolean overlaps(double x, double y, double w, double h, double rx, double ry, double rw, double rh) {
+        return x + w >= rx && y + h >= ry && x <= rx + rw && y <= ry + rh;
+    }
+
+    // Zones and platforms never change and sit under everything else, so they are painted into
+    // cached chunk tiles rather than every frame. Spikes and doors stay in the per-frame pass because
+    // movers, the gate and checkpoints are drawn under them.
+    private void paintStaticLayer(Graphics2D g2d, int x, int y, int w, int h) {
+        WorldChunks chunks = world.getChunks();
+        drawGravityZones(g2d, x, y, w, h);
+        List<Platform> platforms = world.getPlatforms();
+        int count = chunks.queryPlatforms(x, y, w, h);
+        for (int i = 0; i < count; i++) {
+            Platform platform = platforms.get(chunks.getResult(i));
+            drawPlatformBlock(g2d, (int) platform.getX(), (int) platform.getY(), platform.getWidth(), platform.getHeight(),
+                    PLATFORM_BASE_COLOR, PLATFORM_HIGHLIGHT_COLOR);
+        }
+    }
+
+    private void drawGravityZones(Graphics2D g2d, int areaX, int areaY, int areaW, int areaH) {
+        for (GravityZone zone : world.getGravityZones()) {
+            if (!overlaps(zone.getX(), zone.getY(), zone.getWidth(), zone.getHeight(), areaX, areaY, areaW, areaH)) {
+                continue;
+            }
+            int x = (int) zone.getX();
+            int y = (int) zone.getY();
+            g2d.setColor(zone.getForced() != null ? ZONE_FORCED_COLOR : ZONE_LIMIT_COLOR);
+            g2d.fillRect(x, y, zone.getWidth(), zone.getHeight());
+            g2d.setColor(ZONE_EDGE_COLOR);
+            g2d.drawRect(x, y, zone.getWidth(), zone.getHeight());
+            if (zone.getForced() != null) {
+                int cx = x + zone.getWidth() / 2;
+                int cy = y + zone.getHeight() / 2;
+                int dx = zone.getForced().getXSign() * 10;
+                int dy = zone.getForced().getYSign() * 10;
+                g2d.drawLine(cx - dx, cy - dy, cx + dx, cy + dy);
+                g2d.drawLine(cx + dx, cy + dy, cx + dx / 2 - dy / 2, cy + dy / 2 - dx / 2);
+                g2d.drawLine(cx + dx, cy + dy, cx + dx / 2 + dy / 2, cy + dy / 2 + dx / 2);
+            }
+        }
+    }
 
+    private void drawCrates(Graphics2D g2d) {
+        CrateSystem crates = world.getCrates();
+        for (int i = 0; i < crates.getCount(); i++) {
+            if (crates.isLost(i)) {
+                continue;
+            }
+            int x = (int) crates.getRenderX(i, renderAlpha);
+            int y = (int) crates.getRenderY(i, renderAlpha);
+            int w = (int) crates.getWidth(i);
+            int h = (int) crates.getHeight(i);
+            if (!isInView(x, y, w, h)) {
+                continue;
+            }
+            g2d.setColor(CRATE_SHADOW_COLOR);
+            g2d.fillRect(x + 3, y + 3, w, h);
+            g2d.setColor(CRATE_BASE_COLOR);
+            g2d.fillRect(x, y, w, h);
+            g2d.setColor(CRATE_TRIM_COLOR);
+            g2d.drawRect(x + 3, y + 3, w - 6, h - 6);
+            g2d.drawLine(x + 3, y + 3, x + w - 3, y + h - 3);
+            g2d.drawLine(x + w - 3, y + 3, x + 3, y + h - 3);
+            g2d.setColor(CRATE_EDGE_COLOR);
+            g2d.drawRect(x, y, w, h);
+        }
+    }
+
+    private void drawPlatformBlock(Graphics2D g2d, int x, int y, int w, int h, Color base, Color highlight) {
         g2d.setColor(new Color(8, 6, 16, 170));
         g2d.fillRect(x + 3, y + 3, w, h);
 
@@ -2352,7 +2380,8 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
             drawHudToggleBadge(g2d, "UI hidden - press H to restore");
             return;
         }
-        long collected = orbs.stream().filter(FluxOrb::isCollected).count();
+        ObjectiveManager objectiveManager = world.getObjectiveManager();
+        int collected = objectiveManager.getCollectedCount();
 
         Color panelBg = new Color(10, 8, 18, 200);
         Color panelAccent = new Color(126, 66, 156, 180);
@@ -2388,17 +2417,17 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
 
         g2d.setFont(new Font("Consolas", Font.PLAIN, 16));
         g2d.setColor(new Color(192, 178, 166));
-        g2d.drawString("Orbs: " + collected + "/" + orbs.size(), contentX, y);
+        g2d.drawString("Orbs: " + collected + "/" + objectiveManager.getOrbCount(), contentX, y);
         y += 20;
-        g2d.drawString("Gate: " + (exitGate.isUnlocked() ? "Unlocked" : "Locked"), contentX, y);
+        g2d.drawString("Gate: " + (world.getExitGate().isUnlocked() ? "Unlocked" : "Locked"), contentX, y);
         y += 20;
-        g2d.drawString("Gravity: " + gravityDir.name(), contentX, y);
+        g2d.drawString("Gravity: " + world.getGravityDir().name(), contentX, y);
         y += 20;
         g2d.drawString("Time: " + String.format("%.1fs", objectiveManager.getElapsedTime()), contentX, y);
         y += 20;
         g2d.drawString("Par: " + String.format("%.1fs", objectiveManager.getParTimeSeconds()), contentX, y);
         y += 20;
-        g2d.drawString("Deaths: " + deathCount, contentX, y);
+        g2d.drawString("Deaths: " + world.getDeathCount(), contentX, y);
         y += 20;
         if (objectiveManager.getParTimeSeconds() > 0) {
             double delta = objectiveManager.getParTimeSeconds() - objectiveManager.getElapsedTime();
@@ -2418,7 +2447,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
             y += 20;
         }
 
-        double orbProgress = orbs.isEmpty() ? 1.0 : collected / (double) orbs.size();
+        double orbProgress = objectiveManager.getOrbCount() == 0 ? 1.0 : collected / (double) objectiveManager.getOrbCount();
         drawProgressBar(g2d, contentX, y, 190, 14, orbProgress, new Color(104, 214, 178), "Gate unlock");
         y += 28;
 
@@ -2449,9 +2478,9 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
             g2d.setColor(new Color(192, 178, 166));
 
             int checklistY = challengePanelY + 42;
-            drawChallengeLine(g2d, contentX, checklistY, "All orbs", collected == orbs.size());
+            drawChallengeLine(g2d, contentX, checklistY, "All orbs", objectiveManager.allOrbsCollected());
             drawChallengeLine(g2d, contentX, checklistY + 18, "Beat par", objectiveManager.getParTimeSeconds() <= 0 || objectiveManager.getElapsedTime() <= objectiveManager.getParTimeSeconds());
-            drawChallengeLine(g2d, contentX, checklistY + 36, "Deathless", deathlessRun && deathCount == 0);
+            drawChallengeLine(g2d, contentX, checklistY + 36, "Deathless", deathlessRun && world.getDeathCount() == 0);
             drawChallengeLine(g2d, contentX, checklistY + 54, "Streak: x" + Math.max(1, orbStreak), orbStreak >= 2);
 
             String broadcast = "Broadcast: " + getSoloBroadcasts()[radioIndex % getSoloBroadcasts().length];
@@ -2471,7 +2500,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         g2d.setColor(panelAccent);
         g2d.drawRoundRect(cooldownX, cooldownY, cooldownWidth, cooldownHeight, 16, 16);
 
-        double readiness = 1.0 - Math.min(1.0, gravityCooldownRemaining / GRAVITY_COOLDOWN);
+        double readiness = 1.0 - Math.min(1.0, world.getGravityCooldownRemaining() / WorldSimulation.GRAVITY_COOLDOWN);
         int barX = cooldownX + 16;
         int barY = cooldownY + 48;
         int barW = cooldownWidth - 32;
@@ -2487,7 +2516,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         g2d.drawRoundRect(barX, barY, barW, barH, 10, 10);
 
         g2d.setFont(new Font("Consolas", Font.BOLD, 15));
-        String cooldownText = gravityCooldownRemaining <= 0 ? "Gravity Core Ready" : String.format("Recharging: %.1fs", gravityCooldownRemaining);
+        String cooldownText = world.getGravityCooldownRemaining() <= 0 ? "Gravity Core Ready" : String.format("Recharging: %.1fs", world.getGravityCooldownRemaining());
         g2d.drawString(cooldownText, barX, barY - 12);
 
         g2d.setFont(new Font("Consolas", Font.PLAIN, 14));
@@ -2509,6 +2538,18 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
             int debugY = controlsBgY - 8;
             g2d.drawString("Position: (" + (int) player.getX() + ", " + (int) player.getY() + ")", controlsX, debugY - 2);
             g2d.drawString("Velocity: (" + String.format("%.2f", player.getVelX()) + ", " + String.format("%.2f", player.getVelY()) + ")", controlsX, debugY - 22);
+            String mode = settings.isDeterministic() ? " [seed " + settings.getSeed() + "]" : "";
+            if (tickAllocatedBytes >= 0) {
+                g2d.drawString("Alloc/tick: " + tickAllocatedBytes + " B", controlsX, debugY - 62);
+            }
+            g2d.drawString("Tick " + world.getTickCount() + "  hash " + String.format("%016x", world.getStateHash()) + mode, controlsX, debugY - 42);
+            g2d.drawString("Physics: " + world.getActiveSubsteps() * WorldSimulation.BASE_PHYSICS_RATE + "/" + world.getPhysicsRate() + " Hz"
+                    + (world.getCrates().getCount() > 0 ? "  crates awake " + world.getCrates().getAwakeCount() + "/" + world.getCrates().getCount() : "")
+                    + (world.getChunks().getChunkCount() > 4 ? "  chunks " + world.getChunks().getActiveChunkCount() + "/" + world.getChunks().getChunkCount() : ""),
+                    controlsX, debugY - (tickAllocatedBytes >= 0 ? 82 : 62));
+            if (settings.isScreenProcessingEnabled()) {
+                g2d.drawString(describePostTimings(), controlsX, debugY - (tickAllocatedBytes >= 0 ? 102 : 82));
+            }
         }
         if (settings.isShowFps()) {
             String fpsText = String.format("FPS: %.0f", fpsDisplay);
@@ -2516,14 +2557,25 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
             g2d.drawString(fpsText, fpsX, controlsY);
         }
 
-        if (!toastMessage.isEmpty()) {
+        if (toastMessage.length() > 0) {
+            int length = toastMessage.length();
+            if (toastChars.length < length) {
+                toastChars = new char[length];
+            }
+            toastMessage.getChars(0, length, toastChars, 0);
             g2d.setColor(new Color(8, 6, 16, 190));
-            int width = g2d.getFontMetrics().stringWidth(toastMessage);
+            int width = g2d.getFontMetrics().charsWidth(toastChars, 0, length);
             int x = (BASE_WIDTH - width) / 2 - 12;
             int toastY = 70;
             g2d.fillRoundRect(x, toastY - 24, width + 24, 40, 12, 12);
             g2d.setColor(toastColor);
-            g2d.drawString(toastMessage, (BASE_WIDTH - width) / 2, toastY);
+            g2d.drawChars(toastChars, 0, length, (BASE_WIDTH - width) / 2, toastY);
+        }
+
+        if (rewinding) {
+            String rewindText = String.format("<< REWIND %.1fs", rewindBuffer.getSecondsAvailable());
+            g2d.setColor(new Color(156, 204, 214));
+            g2d.drawString(rewindText, (BASE_WIDTH - g2d.getFontMetrics().stringWidth(rewindText)) / 2, 104);
         }
 
         drawHudToggleBadge(g2d, "Hide UI [H]");
@@ -2623,7 +2675,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         int arrowLength = 26;
         int dx = 0;
         int dy = 0;
-        switch (gravityDir) {
+        switch (world.getGravityDir()) {
             case UP:
                 dy = -arrowLength;
                 break;
@@ -2646,6 +2698,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     }
 
     private void drawRespawnBeacon(Graphics2D g2d) {
+        Point2D.Double respawnPosition = world.getRespawnPosition();
         if (respawnPosition == null) {
             return;
         }
@@ -2717,7 +2770,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         g2d.drawString("Level Complete!", BASE_WIDTH / 2 - 80, 160);
 
         LevelData data = levelManager.getLevel(lastCompletedIndex);
-        double elapsed = objectiveManager.getElapsedTime();
+        double elapsed = world.getObjectiveManager().getElapsedTime();
         double par = data.getParTimeSeconds();
         double best = saveData.bestTimes[Math.min(lastCompletedIndex, saveData.bestTimes.length - 1)];
         g2d.setFont(new Font("Consolas", Font.PLAIN, 18));
@@ -2725,7 +2778,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         g2d.drawString("Time: " + String.format("%.1fs", elapsed) + (elapsed <= par ? " (PAR BEAT!)" : ""), BASE_WIDTH / 2 - 120, 230);
         String medal = determineMedal(elapsed, par);
         g2d.drawString("Medal: " + medal, BASE_WIDTH / 2 - 120, 260);
-        g2d.drawString("Deaths: " + deathCount, BASE_WIDTH / 2 - 120, 290);
+        g2d.drawString("Deaths: " + world.getDeathCount(), BASE_WIDTH / 2 - 120, 290);
         if (best > 0) {
             g2d.drawString("Best: " + String.format("%.1fs", best), BASE_WIDTH / 2 - 120, 320);
         }
@@ -2881,6 +2934,12 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
 
     @Override
     public void keyPressed(KeyEvent e) {
+        synchronized (worldLock) {
+            handleKeyPressed(e);
+        }
+    }
+
+    private void handleKeyPressed(KeyEvent e) {
         if (waitingForBinding) {
             applyBinding(e.getKeyCode());
             return;
@@ -3040,28 +3099,37 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
             return;
         }
 
-        if (e.getKeyCode() == KeyEvent.VK_BACK_SPACE && quickRecoverArmed) {
+        if (e.getKeyCode() == KeyEvent.VK_BACK_SPACE && world.isQuickRecoverArmed()) {
             recoverToLastSafe();
             return;
         }
 
         if (e.getKeyCode() == KeyEvent.VK_R) {
-            startLevelLoad(saveData.currentLevelIndex);
+            restartLevel();
             setToast("Level restarted", new Color(210, 186, 236));
             return;
         }
 
+        if (e.getKeyCode() == KeyEvent.VK_F5 && !multiplayerActive) {
+            savePracticeState();
+            return;
+        }
+        if (e.getKeyCode() == KeyEvent.VK_F9 && !multiplayerActive) {
+            loadPracticeState();
+            return;
+        }
+
         if (e.getKeyCode() == KeyEvent.VK_I) {
-            changeGravity(GravityDir.UP);
+            pendingGravity = GravityDir.UP;
         }
         if (e.getKeyCode() == KeyEvent.VK_J) {
-            changeGravity(GravityDir.LEFT);
+            pendingGravity = GravityDir.LEFT;
         }
         if (e.getKeyCode() == KeyEvent.VK_K) {
-            changeGravity(GravityDir.DOWN);
+            pendingGravity = GravityDir.DOWN;
         }
         if (e.getKeyCode() == KeyEvent.VK_L) {
-            changeGravity(GravityDir.RIGHT);
+            pendingGravity = GravityDir.RIGHT;
         }
 
         if (e.getKeyCode() == settings.getKeyLeft()) {
@@ -3076,6 +3144,9 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         if (e.getKeyCode() == KeyEvent.VK_SHIFT) {
             shiftPressed = true;
         }
+        if (e.getKeyCode() == KeyEvent.VK_Z) {
+            rewindPressed = true;
+        }
     }
 
     private void handleMenuNavigation(KeyEvent e, int itemCount, Runnable onEnter) {
@@ -3195,7 +3266,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
                 gameState = GameState.IN_GAME;
                 break;
             case 1:
-                startLevelLoad(saveData.currentLevelIndex);
+                restartLevel();
                 break;
             case 2:
                 previousStateBeforeSettings = GameState.PAUSE;
@@ -3654,6 +3725,12 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
 
     @Override
     public void keyReleased(KeyEvent e) {
+        synchronized (worldLock) {
+            handleKeyReleased(e);
+        }
+    }
+
+    private void handleKeyReleased(KeyEvent e) {
         if (e.getKeyCode() == settings.getKeyLeft()) {
             leftPressed = false;
         }
@@ -3666,10 +3743,19 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         if (e.getKeyCode() == KeyEvent.VK_SHIFT) {
             shiftPressed = false;
         }
+        if (e.getKeyCode() == KeyEvent.VK_Z) {
+            rewindPressed = false;
+        }
     }
 
     @Override
     public void keyTyped(KeyEvent e) {
+        synchronized (worldLock) {
+            handleKeyTyped(e);
+        }
+    }
+
+    private void handleKeyTyped(KeyEvent e) {
         if (gameState == GameState.MULTIPLAYER_MENU) {
             char c = e.getKeyChar();
             if ((c >= '0' && c <= '9') || c == '.') {
@@ -0,0 +1,160 @@
+import java.util.List;
+
+public class GeometryStore {
+    public static final int SOLID = 0;
+    public static final int MOVER = 1;
+    public static final int DOOR = 2;
+    public static final int SPIKE = 3;
+    public static final int BUTTON = 4;
+    public static final int CRATE = 5;
+    private static final int TYPE_COUNT = 6;
+
+    public static final int FLAG_BLOCKING = 1;
+    public static final int FLAG_DYNAMIC = 2;
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] w;
+    private final double[] h;
+    private final double[] deltaX;
+    private final double[] deltaY;
+    private final int[] type;
+    private final int[] flags;
+    private final int[] typeStart = new int[TYPE_COUNT + 1];
+    private int count;
+
+    public GeometryStore(List<Platform> platforms, List<MovingPlatform> movers, List<CoopDoor> doors,
+                         List<Spike> spikes, List<CoopButton> buttons, CrateSystem crates) {
+        int capacity = platforms.size() + movers.size() + doors.size() + spikes.size() + buttons.size() + crates.getCount();
+        x = new double[capacity];
+        y = new double[capacity];
+        w = new double[capacity];
+        h = new double[capacity];
+        deltaX = new double[capacity];
+        deltaY = new double[capacity];
+        type = new int[capacity];
+        flags = new int[capacity];
+
+        typeStart[SOLID] = count;
+        for (Platform p : platforms) {
+            add(SOLID, FLAG_BLOCKING, p.getX(), p.getY(), p.getWidth(), p.getHeight());
+        }
+        typeStart[MOVER] = count;
+        for (MovingPlatform m : movers) {
+            add(MOVER, FLAG_BLOCKING | FLAG_DYNAMIC, m.getX(), m.getY(), m.getWidth(), m.getHeight());
+        }
+        typeStart[DOOR] = count;
+        for (CoopDoor d : doors) {
+            add(DOOR, (d.isOpen() ? 0 : FLAG_BLOCKING) | FLAG_DYNAMIC, d.getX(), d.getY(), d.getWidth(), d.getHeight());
+        }
+        typeStart[SPIKE] = count;
+        for (Spike s : spikes) {
+            add(SPIKE, 0, s.getX(), s.getY(), s.getWidth(), s.getHeight());
+        }
+        typeStart[BUTTON] = count;
+        for (CoopButton b : buttons) {
+            add(BUTTON, 0, b.getX(), b.getY(), b.getWidth(), b.getHeight());
+        }
+        typeStart[CRATE] = count;
+        for (int i = 0; i < crates.getCount(); i++) {
+            add(CRATE, FLAG_BLOCKING | FLAG_DYNAMIC, 0, 0, crates.getWidth(i), crates.getHeight(i));
+        }
+        typeStart[TYPE_COUNT] = count;
+    }
+
+    private void add(int kind, int kindFlags, double px, double py, double pw, double ph) {
+        x[count] = px;
+        y[count] = py;
+        w[count] = pw;
+        h[count] = ph;
+        type[count] = kind;
+        flags[count] = kindFlags;
+        count++;
+    }
+
+    public void syncMovers(List<MovingPlatform> movers) {
+        int base = typeStart[MOVER];
+        for (int i = 0; i < movers.size(); i++) {
+            MovingPlatform m = movers.get(i);
+            x[base + i] = m.getX();
+            y[base + i] = m.getY();
+            deltaX[base + i] = m.getDeltaX();
+            deltaY[base + i] = m.getDeltaY();
+        }
+    }
+
+    public void syncMover(int index, MovingPlatform m) {
+        int id = typeStart[MOVER] + index;
+        x[id] = m.getX();
+        y[id] = m.getY();
+        deltaX[id] = m.getDeltaX();
+        deltaY[id] = m.getDeltaY();
+    }
+
+    public void moveTo(int id, double px, double py, double dx, double dy) {
+        x[id] = px;
+        y[id] = py;
+        deltaX[id] = dx;
+        deltaY[id] = dy;
+    }
+
+    public void setBlocking(int id, boolean blocking) {
+        if (blocking) {
+            flags[id] |= FLAG_BLOCKING;
+        } else {
+            flags[id] &= ~FLAG_BLOCKING;
+        }
+    }
+
+    public boolean isBlocking(int id) {
+        return (flags[id] & FLAG_BLOCKING) != 0;
+    }
+
+    public boolean overlaps(int id, double px, double py, double pw, double ph) {
+        return px + pw > x[id] && px < x[id] + w[id] && py + ph > y[id] && py < y[id] + h[id];
+    }
+
+    public int firstOf(int kind) {
+        return typeStart[kind];
+    }
+
+    public int endOf(int kind) {
+        return typeStart[kind + 1];
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getX(int id) {
+        return x[id];
+    }
+
+    public double getY(int id) {
+        return y[id];
+    }
+
+    public double getWidth(int id) {
+        return w[id];
+    }
+
+    public double getHeight(int id) {
+        return h[id];
+    }
+
+    public double getDeltaX(int id) {
+        return deltaX[id];
+    }
+
+    public double getDeltaY(int id) {
+        return deltaY[id];
+    }
+
+    public int getType(int id) {
+        return type[id];
+    }
+
+    public int getFlags(int id) {
+        return flags[id];
+    }
+}
@@ -0,0 +1,69 @@
+public class GravityZone {
+    private static final GravityDir[] DIRECTIONS = GravityDir.values();
+
+    private final double x;
+    private final double y;
+    private final int width;
+    private final int height;
+    private final GravityDir forced;
+    private final int allowedMask;
+
+    // A zone either forces one direction or limits gravity to a set of allowed directions;
+    // allowedMask holds one bit per GravityDir ordinal.
+    public GravityZone(double x, double y, int width, int height, GravityDir forced, int allowedMask) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.forced = forced;
+        this.allowedMask = forced != null ? 1 << forced.ordinal() : allowedMask;
+    }
+
+    public boolean contains(double px, double py) {
+        return px >= x && px < x + width && py >= y && py < y + height;
+    }
+
+    public boolean allows(GravityDir dir) {
+        return (allowedMask & (1 << dir.ordinal())) != 0;
+    }
+
+    // The direction a body that wants the given gravity ends up with inside this zone.
+    public GravityDir limit(GravityDir dir) {
+        if (forced != null) {
+            return forced;
+        }
+        if (allows(dir)) {
+            return dir;
+        }
+        for (GravityDir candidate : DIRECTIONS) {
+            if (allows(candidate)) {
+                return candidate;
+            }
+        }
+        return dir;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public GravityDir getForced() {
+        return forced;
+    }
+
+    public int getAllowedMask() {
+        return allowedMask;
+    }
+}
@@ -0,0 +1,57 @@
+import java.util.List;
+
+public class GravityZoneIndex {
+    private static final double CELL_SIZE = 64;
+
+    private final List<GravityZone> zones;
+    private final UniformGrid grid;
+
+    public GravityZoneIndex(List<GravityZone> zones) {
+        this.zones = zones;
+        double minX = 0;
+        double minY = 0;
+        double maxX = CELL_SIZE;
+        double maxY = CELL_SIZE;
+        for (GravityZone zone : zones) {
+            minX = Math.min(minX, zone.getX());
+            minY = Math.min(minY, zone.getY());
+            maxX = Math.max(maxX, zone.getX() + zone.getWidth());
+            maxY = Math.max(maxY, zone.getY() + zone.getHeight());
+        }
+        grid = new UniformGrid(minX, minY, maxX, maxY, CELL_SIZE);
+        for (int i = 0; i < zones.size(); i++) {
+            GravityZone zone = zones.get(i);
+            grid.insert(i, zone.getX(), zone.getY(), zone.getWidth(), zone.getHeight());
+        }
+    }
+
+    // A point lookup only visits the zones registered in one cell. Where zones overlap the one
+    // declared last wins, so a level can carve exceptions out of a larger zone.
+    public int find(double px, double py) {
+        if (zones.isEmpty()) {
+            return -1;
+        }
+        int candidates = grid.query(px, py, 0, 0);
+        int best = -1;
+        for (int i = 0; i < candidates; i++) {
+            int index = grid.getResult(i);
+            if (index > best && zones.get(index).contains(px, py)) {
+                best = index;
+            }
+        }
+        return best;
+    }
+
+    public GravityDir resolve(double px, double py, GravityDir dir) {
+        int index = find(px, py);
+        return index < 0 ? dir : zones.get(index).limit(dir);
+    }
+
+    public GravityZone get(int index) {
+        return zones.get(index);
+    }
+
+    public boolean isEmpty() {
+        return zones.isEmpty();
+    }
+}
@@ -0,0 +1,58 @@
+public class InputFrame {
+    private boolean left;
+    private boolean right;
+    private boolean jump;
+    private boolean sprint;
+    private GravityDir gravityRequest;
+
+    public InputFrame() {
+    }
+
+    public InputFrame(boolean left, boolean right, boolean jump, boolean sprint, GravityDir gravityRequest) {
+        this.left = left;
+        this.right = right;
+        this.jump = jump;
+        this.sprint = sprint;
+        this.gravityRequest = gravityRequest;
+    }
+
+    public boolean isLeft() {
+        return left;
+    }
+
+    public void setLeft(boolean left) {
+        this.left = left;
+    }
+
+    public boolean isRight() {
+        return right;
+    }
+
+    public void setRight(boolean right) {
+        this.right = right;
+    }
+
+    public boolean isJump() {
+        return jump;
+    }
+
+    public void setJump(boolean jump) {
+        this.jump = jump;
+    }
+
+    public boolean isSprint() {
+        return sprint;
+    }
+
+    public void setSprint(boolean sprint) {
+        this.sprint = sprint;
+    }
+
+    public GravityDir getGravityRequest() {
+        return gravityRequest;
+    }
+
+    public void setGravityRequest(GravityDir gravityRequest) {
+        this.gravityRequest = gravityRequest;
+    }
+}
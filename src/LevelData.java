@@ -1,5 +1,6 @@
 import java.awt.geom.Point2D;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class LevelData {
@@ -12,6 +13,11 @@ public class LevelData {
     private final List<Point2D.Double> orbPositions;
     private final List<CoopButton> buttons;
     private final List<CoopDoor> doors;
+    private final List<LogicNode> logicNodes;
+    private final List<Crate> crates;
+    private final List<GravityZone> gravityZones;
+    private final int width;
+    private final int height;
     private final double exitGateX;
     private final double exitGateY;
     private final int exitGateWidth;
@@ -42,21 +48,80 @@ public class LevelData {
                      double parTimeSeconds,
                      boolean multiplayerOnly,
                      boolean custom) {
+        this(id, name, platforms, orbPositions, movers, spikes, checkpoints, buttons, doors, new ArrayList<>(),
+                exitGateX, exitGateY, exitGateWidth, exitGateHeight, spawnPosition, partnerSpawnPosition,
+                spawnGravity, parTimeSeconds, multiplayerOnly, custom);
+    }
+
+    public LevelData(String id,
+                     String name,
+                     List<Platform> platforms,
+                     List<Point2D.Double> orbPositions,
+                     List<MovingPlatform> movers,
+                     List<Spike> spikes,
+                     List<Checkpoint> checkpoints,
+                     List<CoopButton> buttons,
+                     List<CoopDoor> doors,
+                     List<LogicNode> logicNodes,
+                     double exitGateX,
+                     double exitGateY,
+                     int exitGateWidth,
+                     int exitGateHeight,
+                     Point2D.Double spawnPosition,
+                     Point2D.Double partnerSpawnPosition,
+                     GravityDir spawnGravity,
+                     double parTimeSeconds,
+                     boolean multiplayerOnly,
+                     boolean custom) {
+        this(id, name, platforms, orbPositions, movers, spikes, checkpoints, buttons, doors, logicNodes, new ArrayList<>(), new ArrayList<>(),
+                WorldSimulation.WORLD_WIDTH, WorldSimulation.WORLD_HEIGHT, exitGateX, exitGateY, exitGateWidth, exitGateHeight, spawnPosition, partnerSpawnPosition,
+                spawnGravity, parTimeSeconds, multiplayerOnly, custom);
+    }
+
+    public LevelData(String id,
+                     String name,
+                     List<Platform> platforms,
+                     List<Point2D.Double> orbPositions,
+                     List<MovingPlatform> movers,
+                     List<Spike> spikes,
+                     List<Checkpoint> checkpoints,
+                     List<CoopButton> buttons,
+                     List<CoopDoor> doors,
+                     List<LogicNode> logicNodes,
+                     List<Crate> crates,
+                     List<GravityZone> gravityZones,
+                     int width,
+                     int height,
+                     double exitGateX,
+                     double exitGateY,
+                     int exitGateWidth,
+                     int exitGateHeight,
+                     Point2D.Double spawnPosition,
+                     Point2D.Double partnerSpawnPosition,
+                     GravityDir spawnGravity,
+                     double parTimeSeconds,
+                     boolean multiplayerOnly,
+                     boolean custom) {
         this.id = id == null || id.isBlank() ? name : id;
         this.name = name;
-        this.platforms = new ArrayList<>(platforms);
-        this.movers = new ArrayList<>(movers);
-        this.spikes = new ArrayList<>(spikes);
-        this.checkpoints = new ArrayList<>(checkpoints);
-        this.orbPositions = new ArrayList<>(orbPositions);
-        this.buttons = new ArrayList<>(buttons);
-        this.doors = new ArrayList<>(doors);
+        this.platforms = Collections.unmodifiableList(new ArrayList<>(platforms));
+        this.movers = Collections.unmodifiableList(new ArrayList<>(movers));
+        this.spikes = Collections.unmodifiableList(new ArrayList<>(spikes));
+        this.checkpoints = Collections.unmodifiableList(new ArrayList<>(checkpoints));
+        this.orbPositions = Collections.unmodifiableList(new ArrayList<>(orbPositions));
+        this.buttons = Collections.unmodifiableList(new ArrayList<>(buttons));
+        this.doors = Collections.unmodifiableList(new ArrayList<>(doors));
+        this.logicNodes = Collections.unmodifiableList(new ArrayList<>(logicNodes));
+        this.crates = Collections.unmodifiableList(new ArrayList<>(crates));
+        this.gravityZones = Collections.unmodifiableList(new ArrayList<>(gravityZones));
+        this.width = Math.max(WorldSimulation.WORLD_WIDTH, width);
+        this.height = Math.max(WorldSimulation.WORLD_HEIGHT, height);
         this.exitGateX = exitGateX;
         this.exitGateY = exitGateY;
         this.exitGateWidth = exitGateWidth;
         this.exitGateHeight = exitGateHeight;
-        this.spawnPosition = spawnPosition;
-        this.partnerSpawnPosition = partnerSpawnPosition;
+        this.spawnPosition = new Point2D.Double(spawnPosition.x, spawnPosition.y);
+        this.partnerSpawnPosition = new Point2D.Double(partnerSpawnPosition.x, partnerSpawnPosition.y);
         this.spawnGravity = spawnGravity;
         this.parTimeSeconds = parTimeSeconds;
         this.multiplayerOnly = multiplayerOnly;
@@ -72,31 +137,43 @@ public class LevelData {
     }
 
     public List<Platform> getPlatforms() {
-        return new ArrayList<>(platforms);
+        return platforms;
     }
 
     public List<MovingPlatform> getMovers() {
-        return new ArrayList<>(movers);
+        return movers;
     }
 
     public List<Spike> getSpikes() {
-        return new ArrayList<>(spikes);
+        return spikes;
     }
 
     public List<Checkpoint> getCheckpoints() {
-        return new ArrayList<>(checkpoints);
+        return checkpoints;
     }
 
     public List<Point2D.Double> getOrbPositions() {
-        return new ArrayList<>(orbPositions);
+        return orbPositions;
     }
 
     public List<CoopButton> getButtons() {
-        return new ArrayList<>(buttons);
+        return buttons;
     }
 
     public List<CoopDoor> getDoors() {
-        return new ArrayList<>(doors);
+        return doors;
+    }
+
+    public List<LogicNode> getLogicNodes() {
+        return logicNodes;
+    }
+
+    public List<Crate> getCrates() {
+        return crates;
+    }
+
+    public List<GravityZone> getGravityZones() {
+        return gravityZones;
     }
 
     public double getExitGateX() {
@@ -116,17 +193,25 @@ public class LevelData {
     }
 
     public Point2D.Double getSpawnPosition() {
-        return spawnPosition;
+        return new Point2D.Double(spawnPosition.x, spawnPosition.y);
     }
 
     public Point2D.Double getPartnerSpawnPosition() {
-        return partnerSpawnPosition;
+        return new Point2D.Double(partnerSpawnPosition.x, partnerSpawnPosition.y);
     }
 
     public GravityDir getSpawnGravity() {
         return spawnGravity;
     }
 
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
     public double getParTimeSeconds() {
         return parTimeSeconds;
     }
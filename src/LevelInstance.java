@@ -0,0 +1,85 @@
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LevelInstance {
+    private final LevelData blueprint;
+    private final List<MovingPlatform> movers;
+    private final List<Checkpoint> checkpoints;
+    private final List<FluxOrb> orbs;
+    private final List<CoopButton> buttons;
+    private final List<CoopDoor> doors;
+    private final ExitGate exitGate;
+    private final CrateSystem crates;
+
+    // Platforms, spikes, orb positions and logic wiring are read straight from the shared blueprint;
+    // only entities that change during a run are created here, already in their start state. An
+    // instance is never reset in place; restarts restore the level-start snapshot instead.
+    public LevelInstance(LevelData blueprint) {
+        this.blueprint = blueprint;
+        movers = new ArrayList<>(blueprint.getMovers().size());
+        for (MovingPlatform m : blueprint.getMovers()) {
+            movers.add(new MovingPlatform(m.getStartX(), m.getStartY(), m.getWidth(), m.getHeight(), m.getEndX(), m.getEndY(),
+                    m.getSpeed(), m.getMode(), m.getEasing(), m.getPhase()));
+        }
+        checkpoints = new ArrayList<>(blueprint.getCheckpoints().size());
+        for (Checkpoint c : blueprint.getCheckpoints()) {
+            checkpoints.add(new Checkpoint(c.getPosition(), c.getRadius()));
+        }
+        orbs = new ArrayList<>(blueprint.getOrbPositions().size());
+        for (Point2D.Double pos : blueprint.getOrbPositions()) {
+            orbs.add(new FluxOrb(pos, 12));
+        }
+        buttons = new ArrayList<>(blueprint.getButtons().size());
+        for (CoopButton b : blueprint.getButtons()) {
+            buttons.add(new CoopButton(b.getX(), b.getY(), b.getWidth(), b.getHeight()));
+        }
+        doors = new ArrayList<>(blueprint.getDoors().size());
+        for (CoopDoor d : blueprint.getDoors()) {
+            doors.add(new CoopDoor(d.getX(), d.getY(), d.getWidth(), d.getHeight(), d.getButtonLinks(), d.getLogicNode()));
+        }
+        exitGate = new ExitGate(blueprint.getExitGateX(), blueprint.getExitGateY(),
+                blueprint.getExitGateWidth(), blueprint.getExitGateHeight());
+        crates = new CrateSystem(blueprint.getCrates());
+    }
+
+    public LevelData getBlueprint() {
+        return blueprint;
+    }
+
+    public List<Platform> getPlatforms() {
+        return blueprint.getPlatforms();
+    }
+
+    public List<Spike> getSpikes() {
+        return blueprint.getSpikes();
+    }
+
+    public List<MovingPlatform> getMovers() {
+        return movers;
+    }
+
+    public List<Checkpoint> getCheckpoints() {
+        return checkpoints;
+    }
+
+    public List<FluxOrb> getOrbs() {
+        return orbs;
+    }
+
+    public List<CoopButton> getButtons() {
+        return buttons;
+    }
+
+    public List<CoopDoor> getDoors() {
+        return doors;
+    }
+
+    public ExitGate getExitGate() {
+        return exitGate;
+    }
+
+    public CrateSystem getCrates() {
+        return crates;
+    }
+}
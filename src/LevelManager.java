@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class LevelManager {
     private final List<LevelData> levels;
@@ -79,6 +80,8 @@ public class LevelManager {
         int gateH = (int) toDouble(gate.get("h"));
 
         double par = toDouble(json.getOrDefault("par", 60));
+        int width = (int) toDouble(json.getOrDefault("width", WorldSimulation.WORLD_WIDTH));
+        int height = (int) toDouble(json.getOrDefault("height", WorldSimulation.WORLD_HEIGHT));
 
         List<Platform> platforms = parsePlatforms(asMapList(json.get("platforms")));
         List<MovingPlatform> movers = parseMovers(asMapList(json.get("movingPlatforms")));
@@ -87,10 +90,13 @@ public class LevelManager {
         List<Point2D.Double> orbs = parsePoints(asMapList(json.get("orbs")));
         List<CoopButton> buttons = parseButtons(asMapList(json.get("buttons")));
         List<CoopDoor> doors = parseDoors(asMapList(json.get("doors")), buttons.size());
+        List<LogicNode> logicNodes = parseLogic(asMapList(json.get("logic")));
+        List<Crate> crates = parseCrates(asMapList(json.get("crates")));
+        List<GravityZone> gravityZones = parseGravityZones(asMapList(json.get("gravityZones")));
         boolean multiplayerOnly = Boolean.TRUE.equals(json.get("multiplayerOnly"));
 
-        return new LevelData(id, name, platforms, orbs, movers, spikes, checkpoints, buttons, doors,
-                gateX, gateY, gateW, gateH,
+        return new LevelData(id, name, platforms, orbs, movers, spikes, checkpoints, buttons, doors, logicNodes, crates, gravityZones,
+                width, height, gateX, gateY, gateW, gateH,
                 new Point2D.Double(spawnX, spawnY), new Point2D.Double(partnerX, partnerY), spawnGravity, par, multiplayerOnly, custom);
     }
 
@@ -115,7 +121,10 @@ public class LevelManager {
             double ex = toDouble(map.get("ex"));
             double ey = toDouble(map.get("ey"));
             double speed = toDouble(map.getOrDefault("speed", 80));
-            movers.add(new MovingPlatform(x, y, w, h, ex, ey, speed));
+            MovingPlatform.Mode mode = parseEnum(MovingPlatform.Mode.class, map.get("mode"), MovingPlatform.Mode.PING_PONG);
+            MovingPlatform.Easing easing = parseEnum(MovingPlatform.Easing.class, map.get("easing"), MovingPlatform.Easing.LINEAR);
+            double phase = toDouble(map.getOrDefault("phase", 0));
+            movers.add(new MovingPlatform(x, y, w, h, ex, ey, speed, mode, easing, phase));
         }
         return movers;
     }
@@ -160,6 +169,43 @@ public class LevelManager {
         return buttons;
     }
 
+    private List<Crate> parseCrates(List<Map<String, Object>> list) {
+        List<Crate> crates = new ArrayList<>();
+        if (list == null) {
+            return crates;
+        }
+        for (Map<String, Object> map : list) {
+            crates.add(new Crate(toDouble(map.get("x")), toDouble(map.get("y")),
+                    (int) toDouble(map.getOrDefault("w", 32)), (int) toDouble(map.getOrDefault("h", 32))));
+        }
+        return crates;
+    }
+
+    private List<GravityZone> parseGravityZones(List<Map<String, Object>> list) {
+        List<GravityZone> zones = new ArrayList<>();
+        if (list == null) {
+            return zones;
+        }
+        for (Map<String, Object> map : list) {
+            GravityDir forced = null;
+            if (map.get("gravity") != null) {
+                forced = GravityDir.valueOf(String.valueOf(map.get("gravity")).toUpperCase());
+            }
+            int allowedMask = 0;
+            if (map.get("allow") instanceof List<?> allowed) {
+                for (Object dir : allowed) {
+                    allowedMask |= 1 << GravityDir.valueOf(String.valueOf(dir).toUpperCase()).ordinal();
+                }
+            }
+            if (forced == null && allowedMask == 0) {
+                continue;
+            }
+            zones.add(new GravityZone(toDouble(map.get("x")), toDouble(map.get("y")),
+                    (int) toDouble(map.get("w")), (int) toDouble(map.get("h")), forced, allowedMask));
+        }
+        return zones;
+    }
+
     private List<CoopDoor> parseDoors(List<Map<String, Object>> list, int buttonCount) {
         List<CoopDoor> doors = new ArrayList<>();
         if (list == null) {
@@ -179,12 +225,47 @@ public class LevelManager {
                     }
                 }
             }
+            int logicNode = (int) toDouble(map.getOrDefault("logic", -1));
             doors.add(new CoopDoor(toDouble(map.get("x")), toDouble(map.get("y")),
-                    toDouble(map.getOrDefault("w", 24)), toDouble(map.getOrDefault("h", 80)), links));
+                    toDouble(map.getOrDefault("w", 24)), toDouble(map.getOrDefault("h", 80)), links, logicNode));
         }
         return doors;
     }
 
+    private List<LogicNode> parseLogic(List<Map<String, Object>> list) {
+        List<LogicNode> nodes = new ArrayList<>();
+        if (list == null) {
+            return nodes;
+        }
+        for (Map<String, Object> map : list) {
+            LogicNode.Kind kind;
+            try {
+                kind = LogicNode.Kind.valueOf(String.valueOf(map.getOrDefault("type", "AND")).toUpperCase());
+            } catch (IllegalArgumentException e) {
+                kind = LogicNode.Kind.AND;
+            }
+            List<String> inputs = new ArrayList<>();
+            if (map.get("inputs") instanceof List<?> rawList) {
+                for (Object obj : rawList) {
+                    inputs.add(String.valueOf(obj));
+                }
+            }
+            nodes.add(new LogicNode(kind, inputs, toDouble(map.getOrDefault("seconds", 0))));
+        }
+        return nodes;
+    }
+
+    private <E extends Enum<E>> E parseEnum(Class<E> type, Object value, E fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Enum.valueOf(type, String.valueOf(value).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
     private double toDouble(Object value) {
         if (value instanceof Number) {
             return ((Number) value).doubleValue();
@@ -238,6 +319,32 @@ public class LevelManager {
         return levels.size();
     }
 
+    // Levels under assets/fixtures are not part of the campaign; the headless checks add them so
+    // crates, gravity zones and logic nodes get exercised even though no shipped level uses all three.
+    public List<LevelData> loadFixtures() {
+        List<LevelData> fixtures = new ArrayList<>();
+        Path dir = Path.of("assets/fixtures");
+        if (!Files.isDirectory(dir)) {
+            return fixtures;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> paths = files.filter(p -> p.getFileName().toString().endsWith(".json"))
+                    .sorted(Comparator.comparing(p -> p.getFileName().toString()))
+                    .collect(Collectors.toList());
+            for (Path path : paths) {
+                LevelData data = createLevelFromJson(stripExtension(path.getFileName().toString()), Files.readString(path), false);
+                if (data != null) {
+                    fixtures.add(data);
+                } else {
+                    System.err.println("Failed to load fixture " + path);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read fixtures: " + e.getMessage());
+        }
+        return fixtures;
+    }
+
     public int indexOf(LevelData data) {
         return levels.indexOf(data);
     }
@@ -294,6 +401,9 @@ public class LevelManager {
                 .append(", \"y\": ").append((int) data.getPartnerSpawnPosition().y).append("},\n");
         sb.append("  \"par\": ").append((int) data.getParTimeSeconds()).append(",\n");
         sb.append("  \"multiplayerOnly\": ").append(data.isMultiplayerOnly()).append(",\n");
+        if (data.getWidth() != WorldSimulation.WORLD_WIDTH || data.getHeight() != WorldSimulation.WORLD_HEIGHT) {
+            sb.append("  \"width\": ").append(data.getWidth()).append(", \"height\": ").append(data.getHeight()).append(",\n");
+        }
         sb.append("  \"exitGate\": {\"x\": ").append((int) data.getExitGateX())
                 .append(", \"y\": ").append((int) data.getExitGateY())
                 .append(", \"w\": ").append(data.getExitGateWidth())
@@ -303,7 +413,10 @@ public class LevelManager {
         appendPointList(sb, "orbs", data.getOrbPositions());
         appendPointList(sb, "checkpoints", data.getCheckpoints().stream().map(Checkpoint::getPosition).collect(Collectors.toList()));
         appendMoverList(sb, "movingPlatforms", data.getMovers());
+        appendLogicList(sb, "logic", data.getLogicNodes());
         appendButtonList(sb, "buttons", data.getButtons());
+        appendCrateList(sb, "crates", data.getCrates());
+        appendGravityZoneList(sb, "gravityZones", data.getGravityZones());
         appendDoorList(sb, "doors", data.getDoors());
         sb.append("}\n");
         return sb.toString();
@@ -380,10 +493,20 @@ public class LevelManager {
         sb.append("  \"").append(name).append("\": [\n");
         for (int i = 0; i < movers.size(); i++) {
             MovingPlatform p = movers.get(i);
-            sb.append("    {\"x\": ").append((int) p.getX()).append(", \"y\": ").append((int) p.getY())
+            sb.append("    {\"x\": ").append((int) p.getStartX()).append(", \"y\": ").append((int) p.getStartY())
                     .append(", \"w\": ").append((int) p.getWidth()).append(", \"h\": ").append((int) p.getHeight())
                     .append(", \"ex\": ").append((int) p.getEndX()).append(", \"ey\": ").append((int) p.getEndY())
-                    .append(", \"speed\": ").append((int) p.getSpeed()).append("}");
+                    .append(", \"speed\": ").append((int) p.getSpeed());
+            if (p.getMode() != MovingPlatform.Mode.PING_PONG) {
+                sb.append(", \"mode\": \"").append(p.getMode().name()).append('"');
+            }
+            if (p.getEasing() != MovingPlatform.Easing.LINEAR) {
+                sb.append(", \"easing\": \"").append(p.getEasing().name()).append('"');
+            }
+            if (p.getPhase() != 0) {
+                sb.append(", \"phase\": ").append(p.getPhase());
+            }
+            sb.append("}");
             if (i < movers.size() - 1) sb.append(',');
             sb.append("\n");
         }
@@ -402,6 +525,75 @@ public class LevelManager {
         sb.append("  ],\n");
     }
 
+    private void appendLogicList(StringBuilder sb, String name, List<LogicNode> nodes) {
+        if (nodes.isEmpty()) {
+            return;
+        }
+        sb.append("  \"").append(name).append("\": [\n");
+        for (int i = 0; i < nodes.size(); i++) {
+            LogicNode node = nodes.get(i);
+            sb.append("    {\"type\": \"").append(node.getKind().name()).append("\", \"inputs\": [");
+            List<String> inputs = node.getInputs();
+            for (int j = 0; j < inputs.size(); j++) {
+                sb.append('"').append(escape(inputs.get(j))).append('"');
+                if (j < inputs.size() - 1) sb.append(',');
+            }
+            sb.append("]");
+            if (node.getKind() == LogicNode.Kind.TIMER) {
+                sb.append(", \"seconds\": ").append(node.getSeconds());
+            }
+            sb.append("}");
+            if (i < nodes.size() - 1) sb.append(',');
+            sb.append("\n");
+        }
+        sb.append("  ],\n");
+    }
+
+    private void appendCrateList(StringBuilder sb, String name, List<Crate> crates) {
+        if (crates.isEmpty()) {
+            return;
+        }
+        sb.append("  \"").append(name).append("\": [\n");
+        for (int i = 0; i < crates.size(); i++) {
+            Crate c = crates.get(i);
+            sb.append("    {\"x\": ").append((int) c.getX()).append(", \"y\": ").append((int) c.getY())
+                    .append(", \"w\": ").append(c.getWidth()).append(", \"h\": ").append(c.getHeight()).append("}");
+            if (i < crates.size() - 1) sb.append(',');
+            sb.append("\n");
+        }
+        sb.append("  ],\n");
+    }
+
+    private void appendGravityZoneList(StringBuilder sb, String name, List<GravityZone> zones) {
+        if (zones.isEmpty()) {
+            return;
+        }
+        sb.append("  \"").append(name).append("\": [\n");
+        for (int i = 0; i < zones.size(); i++) {
+            GravityZone z = zones.get(i);
+            sb.append("    {\"x\": ").append((int) z.getX()).append(", \"y\": ").append((int) z.getY())
+                    .append(", \"w\": ").append(z.getWidth()).append(", \"h\": ").append(z.getHeight());
+            if (z.getForced() != null) {
+                sb.append(", \"gravity\": \"").append(z.getForced().name()).append('"');
+            } else {
+                sb.append(", \"allow\": [");
+                boolean first = true;
+                for (GravityDir dir : GravityDir.values()) {
+                    if (z.allows(dir)) {
+                        if (!first) sb.append(", ");
+                        sb.append('"').append(dir.name()).append('"');
+                        first = false;
+                    }
+                }
+                sb.append("]");
+            }
+            sb.append("}");
+            if (i < zones.size() - 1) sb.append(',');
+            sb.append("\n");
+        }
+        sb.append("  ],\n");
+    }
+
     private void appendDoorList(StringBuilder sb, String name, List<CoopDoor> doors) {
         sb.append("  \"").append(name).append("\": [\n");
         for (int i = 0; i < doors.size(); i++) {
@@ -414,7 +606,11 @@ public class LevelManager {
                 sb.append(links.get(j));
                 if (j < links.size() - 1) sb.append(',');
             }
-            sb.append("]}");
+            sb.append("]");
+            if (d.getLogicNode() >= 0) {
+                sb.append(", \"logic\": ").append(d.getLogicNode());
+            }
+            sb.append("}");
             if (i < doors.size() - 1) sb.append(',');
             sb.append("\n");
         }
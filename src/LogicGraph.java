@@ -0,0 +1,282 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class LogicGraph {
+    private final int buttonCount;
+    private final LogicNode.Kind[] kinds;
+    private final int[][] inputs;
+    private final double[] seconds;
+    private final int[][] fanout;
+    private final int[] doorSignals;
+    private final long[] values;
+    private final long[] dirty;
+    private final double[] timerRemaining;
+    private final boolean[] timerActive;
+    private final int[] activeTimers;
+    private int activeTimerCount;
+    private boolean outputsChanged;
+
+    // Signals 0..buttonCount-1 are buttons, followed by one signal per node. Nodes may only read
+    // buttons and earlier nodes, so ascending node order is a valid evaluation order.
+    public LogicGraph(int buttonCount, List<LogicNode> nodes, List<CoopDoor> doors) {
+        this.buttonCount = buttonCount;
+        int legacyDoors = 0;
+        for (CoopDoor door : doors) {
+            if (door.getLogicNode() < 0 || door.getLogicNode() >= nodes.size()) {
+                legacyDoors++;
+            }
+        }
+        int nodeCount = nodes.size() + legacyDoors;
+        kinds = new LogicNode.Kind[nodeCount];
+        inputs = new int[nodeCount][];
+        seconds = new double[nodeCount];
+        doorSignals = new int[doors.size()];
+
+        for (int i = 0; i < nodes.size(); i++) {
+            LogicNode node = nodes.get(i);
+            kinds[i] = node.getKind();
+            seconds[i] = node.getSeconds();
+            inputs[i] = resolveInputs(node.getInputs(), i);
+        }
+        int next = nodes.size();
+        for (int d = 0; d < doors.size(); d++) {
+            CoopDoor door = doors.get(d);
+            if (door.getLogicNode() >= 0 && door.getLogicNode() < nodes.size()) {
+                doorSignals[d] = buttonCount + door.getLogicNode();
+                continue;
+            }
+            List<Integer> links = door.getButtonLinks();
+            int[] legacyInputs = new int[links.size()];
+            int count = 0;
+            for (int link : links) {
+                if (link >= 0 && link < buttonCount) {
+                    legacyInputs[count++] = link;
+                }
+            }
+            kinds[next] = LogicNode.Kind.AND;
+            inputs[next] = Arrays.copyOf(legacyInputs, count);
+            doorSignals[d] = buttonCount + next;
+            next++;
+        }
+
+        int signalCount = buttonCount + nodeCount;
+        List<List<Integer>> dependents = new ArrayList<>();
+        for (int s = 0; s < signalCount; s++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int n = 0; n < nodeCount; n++) {
+            for (int signal : inputs[n]) {
+                dependents.get(signal).add(n);
+            }
+        }
+        fanout = new int[signalCount][];
+        for (int s = 0; s < signalCount; s++) {
+            fanout[s] = dependents.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        values = new long[(signalCount + 63) / 64];
+        dirty = new long[(nodeCount + 63) / 64];
+        timerRemaining = new double[nodeCount];
+        timerActive = new boolean[nodeCount];
+        activeTimers = new int[nodeCount];
+        for (int n = 0; n < nodeCount; n++) {
+            markDirty(n);
+        }
+        propagate();
+        outputsChanged = true;
+    }
+
+    private int[] resolveInputs(List<String> refs, int nodeIndex) {
+        int[] resolved = new int[refs.size()];
+        int count = 0;
+        for (String ref : refs) {
+            if (ref == null || ref.length() < 2) {
+                continue;
+            }
+            int idx;
+            try {
+                idx = Integer.parseInt(ref.substring(1).trim());
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            char prefix = Character.toLowerCase(ref.charAt(0));
+            if (prefix == 'b' && idx >= 0 && idx < buttonCount) {
+                resolved[count++] = idx;
+            } else if (prefix == 'n' && idx >= 0 && idx < nodeIndex) {
+                resolved[count++] = buttonCount + idx;
+            }
+        }
+        return Arrays.copyOf(resolved, count);
+    }
+
+    public void setButton(int index, boolean pressed) {
+        if (index < 0 || index >= buttonCount || get(index) == pressed) {
+            return;
+        }
+        set(index, pressed);
+        for (int node : fanout[index]) {
+            markDirty(node);
+        }
+        propagate();
+    }
+
+    public void update(double dt) {
+        if (activeTimerCount == 0) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < activeTimerCount; i++) {
+            int node = activeTimers[i];
+            int[] in = inputs[node];
+            if (in.length > 0 && get(in[0])) {
+                timerActive[node] = false;
+                continue;
+            }
+            timerRemaining[node] -= dt;
+            if (timerRemaining[node] <= 0) {
+                timerRemaining[node] = 0;
+                timerActive[node] = false;
+                markDirty(node);
+            } else {
+                activeTimers[kept++] = node;
+            }
+        }
+        activeTimerCount = kept;
+        propagate();
+    }
+
+    private void propagate() {
+        for (int word = 0; word < dirty.length; word++) {
+            while (dirty[word] != 0) {
+                int bit = Long.numberOfTrailingZeros(dirty[word]);
+                dirty[word] &= ~(1L << bit);
+                int node = word * 64 + bit;
+                int signal = buttonCount + node;
+                boolean out = evaluate(node);
+                if (out != get(signal)) {
+                    set(signal, out);
+                    outputsChanged = true;
+                    for (int dependent : fanout[signal]) {
+                        markDirty(dependent);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean evaluate(int node) {
+        int[] in = inputs[node];
+        switch (kinds[node]) {
+            case AND:
+                for (int signal : in) {
+                    if (!get(signal)) {
+                        return false;
+                    }
+                }
+                return true;
+            case OR:
+                for (int signal : in) {
+                    if (get(signal)) {
+                        return true;
+                    }
+                }
+                return false;
+            case NOT:
+                return in.length == 0 || !get(in[0]);
+            case LATCH:
+                if (in.length > 1 && get(in[1])) {
+                    return false;
+                }
+                return (in.length > 0 && get(in[0])) || get(buttonCount + node);
+            case TIMER:
+                if (in.length > 0 && get(in[0])) {
+                    timerRemaining[node] = seconds[node];
+                    return true;
+                }
+                if (timerRemaining[node] > 0) {
+                    if (!timerActive[node]) {
+                        timerActive[node] = true;
+                        activeTimers[activeTimerCount++] = node;
+                    }
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    void writeState(WorldSnapshot snapshot) {
+        for (long word : values) {
+            snapshot.putWord(word);
+        }
+        snapshot.putWord(activeTimerCount);
+        for (int timer : activeTimers) {
+            snapshot.putWord(timer);
+        }
+        for (double remaining : timerRemaining) {
+            snapshot.putReal(remaining);
+        }
+    }
+
+    void readState(WorldSnapshot snapshot) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = snapshot.nextWord();
+        }
+        Arrays.fill(timerActive, false);
+        activeTimerCount = snapshot.nextInt();
+        for (int i = 0; i < activeTimers.length; i++) {
+            activeTimers[i] = snapshot.nextInt();
+        }
+        for (int i = 0; i < activeTimerCount; i++) {
+            timerActive[activeTimers[i]] = true;
+        }
+        for (int i = 0; i < timerRemaining.length; i++) {
+            timerRemaining[i] = snapshot.nextReal();
+        }
+        Arrays.fill(dirty, 0);
+        outputsChanged = true;
+    }
+
+    // Same words writeState() stores, folded into the world hash.
+    long mixState(long hash) {
+        for (long word : values) {
+            hash = WorldSimulation.mix(hash, word);
+        }
+        hash = WorldSimulation.mix(hash, activeTimerCount);
+        for (int i = 0; i < activeTimerCount; i++) {
+            hash = WorldSimulation.mix(hash, activeTimers[i]);
+        }
+        for (double remaining : timerRemaining) {
+            hash = WorldSimulation.mix(hash, remaining);
+        }
+        return hash;
+    }
+
+    public boolean consumeOutputsChanged() {
+        boolean changed = outputsChanged;
+        outputsChanged = false;
+        return changed;
+    }
+
+    public boolean isDoorOpen(int door) {
+        return get(doorSignals[door]);
+    }
+
+    private void markDirty(int node) {
+        dirty[node >>> 6] |= 1L << (node & 63);
+    }
+
+    private boolean get(int signal) {
+        return (values[signal >>> 6] & (1L << (signal & 63))) != 0;
+    }
+
+    private void set(int signal, boolean value) {
+        if (value) {
+            values[signal >>> 6] |= 1L << (signal & 63);
+        } else {
+            values[signal >>> 6] &= ~(1L << (signal & 63));
+        }
+    }
+}
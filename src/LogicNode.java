@@ -0,0 +1,34 @@
+import java.util.ArrayList;
+import java.util.List;
+
+public class LogicNode {
+    public enum Kind {
+        AND,
+        OR,
+        NOT,
+        LATCH,
+        TIMER
+    }
+
+    private final Kind kind;
+    private final List<String> inputs;
+    private final double seconds;
+
+    public LogicNode(Kind kind, List<String> inputs, double seconds) {
+        this.kind = kind;
+        this.inputs = new ArrayList<>(inputs);
+        this.seconds = seconds;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public List<String> getInputs() {
+        return new ArrayList<>(inputs);
+    }
+
+    public double getSeconds() {
+        return seconds;
+    }
+}
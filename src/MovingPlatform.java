@@ -1,43 +1,182 @@
 public class MovingPlatform extends Platform {
+    public enum Mode {
+        PING_PONG,
+        LOOP
+    }
+
+    public enum Easing {
+        LINEAR,
+        SMOOTH,
+        SINE
+    }
+
     private final double startX;
     private final double startY;
     private final double endX;
     private final double endY;
     private final double speed;
-    private boolean forward = true;
+    private final Mode mode;
+    private final Easing easing;
+    private final double phase;
+    private final double travelTime;
+    private double time;
     private double lastX;
     private double lastY;
+    private double tickStartX;
+    private double tickStartY;
 
     public MovingPlatform(double x, double y, int width, int height, double endX, double endY, double speed) {
+        this(x, y, width, height, endX, endY, speed, Mode.PING_PONG, Easing.LINEAR, 0);
+    }
+
+    public MovingPlatform(double x, double y, int width, int height, double endX, double endY, double speed,
+                          Mode mode, Easing easing, double phase) {
         super(x, y, width, height);
         this.startX = x;
         this.startY = y;
         this.endX = endX;
         this.endY = endY;
         this.speed = speed;
-        this.lastX = x;
-        this.lastY = y;
+        this.mode = mode;
+        this.easing = easing;
+        this.phase = phase;
+        double distance = StrictMath.hypot(endX - x, endY - y);
+        this.travelTime = speed > 0 && distance > 0.5 ? distance / speed : 0;
+        seek(0);
     }
 
     public void update(double dt) {
+        double previousX = getX();
+        double previousY = getY();
+        double before = wrap(time + phase * getPeriod());
+        time = wrap(time + dt);
+        setPosition(getPathX(time), getPathY(time));
+        boolean wrapped = wrap(time + phase * getPeriod()) < before;
+        if (mode == Mode.LOOP && wrapped) {
+            lastX = getX() - getVelocityX(time) * dt;
+            lastY = getY() - getVelocityY(time) * dt;
+            // Shift the tick start by the wrap jump so earlier sub-steps of this tick still count.
+            tickStartX += lastX - previousX;
+            tickStartY += lastY - previousY;
+        } else {
+            lastX = previousX;
+            lastY = previousY;
+        }
+    }
+
+    public void seek(double t) {
+        time = wrap(t);
+        setPosition(getPathX(time), getPathY(time));
         lastX = getX();
         lastY = getY();
-        double targetX = forward ? endX : startX;
-        double targetY = forward ? endY : startY;
-        double dx = targetX - getX();
-        double dy = targetY - getY();
-        double distance = Math.hypot(dx, dy);
-        if (distance < 0.5) {
-            forward = !forward;
-            return;
+        tickStartX = lastX;
+        tickStartY = lastY;
+    }
+
+    // With physics sub-steps update() runs several times per tick, so the last delta only covers
+    // one sub-step; rendering and anything carried along need the whole tick.
+    public void beginTick() {
+        tickStartX = getX();
+        tickStartY = getY();
+    }
+
+    void writeState(WorldSnapshot snapshot) {
+        snapshot.putReal(time);
+        snapshot.putReal(getX());
+        snapshot.putReal(getY());
+        snapshot.putReal(lastX);
+        snapshot.putReal(lastY);
+    }
+
+    void readState(WorldSnapshot snapshot) {
+        time = snapshot.nextReal();
+        double restoredX = snapshot.nextReal();
+        double restoredY = snapshot.nextReal();
+        setPosition(restoredX, restoredY);
+        lastX = snapshot.nextReal();
+        lastY = snapshot.nextReal();
+        tickStartX = lastX;
+        tickStartY = lastY;
+    }
+
+    public double getPathX(double t) {
+        return startX + (endX - startX) * progressAt(t);
+    }
+
+    public double getPathY(double t) {
+        return startY + (endY - startY) * progressAt(t);
+    }
+
+    public double getVelocityX(double t) {
+        return (endX - startX) * progressRateAt(t);
+    }
+
+    public double getVelocityY(double t) {
+        return (endY - startY) * progressRateAt(t);
+    }
+
+    private double progressAt(double t) {
+        if (travelTime == 0) {
+            return 0;
         }
-        double move = speed * dt;
-        if (move > distance) {
-            move = distance;
+        double u = cycleFraction(t);
+        return ease(u);
+    }
+
+    private double progressRateAt(double t) {
+        if (travelTime == 0) {
+            return 0;
         }
-        double nx = getX() + (dx / distance) * move;
-        double ny = getY() + (dy / distance) * move;
-        setPosition(nx, ny);
+        double local = wrap(t + phase * getPeriod());
+        double direction = mode == Mode.PING_PONG && local >= travelTime ? -1 : 1;
+        return easeSlope(cycleFraction(t)) * direction / travelTime;
+    }
+
+    private double cycleFraction(double t) {
+        double local = wrap(t + phase * getPeriod());
+        if (mode == Mode.PING_PONG && local >= travelTime) {
+            local = 2 * travelTime - local;
+        }
+        return Math.max(0, Math.min(1, local / travelTime));
+    }
+
+    private double ease(double u) {
+        switch (easing) {
+            case SMOOTH:
+                return u * u * (3 - 2 * u);
+            case SINE:
+                return 0.5 - 0.5 * StrictMath.cos(Math.PI * u);
+            default:
+                return u;
+        }
+    }
+
+    private double easeSlope(double u) {
+        switch (easing) {
+            case SMOOTH:
+                return 6 * u * (1 - u);
+            case SINE:
+                return 0.5 * Math.PI * StrictMath.sin(Math.PI * u);
+            default:
+                return 1;
+        }
+    }
+
+    private double wrap(double t) {
+        double period = getPeriod();
+        if (period == 0) {
+            return 0;
+        }
+        double wrapped = t % period;
+        return wrapped < 0 ? wrapped + period : wrapped;
+    }
+
+    public double getPeriod() {
+        return mode == Mode.PING_PONG ? travelTime * 2 : travelTime;
+    }
+
+    public double getTime() {
+        return time;
     }
 
     public double getDeltaX() {
@@ -48,6 +187,30 @@ public class MovingPlatform extends Platform {
         return getY() - lastY;
     }
 
+    public double getTickDeltaX() {
+        return getX() - tickStartX;
+    }
+
+    public double getTickDeltaY() {
+        return getY() - tickStartY;
+    }
+
+    public double getRenderX(double alpha) {
+        return tickStartX + getTickDeltaX() * alpha;
+    }
+
+    public double getRenderY(double alpha) {
+        return tickStartY + getTickDeltaY() * alpha;
+    }
+
+    public double getStartX() {
+        return startX;
+    }
+
+    public double getStartY() {
+        return startY;
+    }
+
     public double getEndX() {
         return endX;
     }
@@ -59,4 +222,16 @@ public class MovingPlatform extends Platform {
     public double getSpeed() {
         return speed;
     }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public Easing getEasing() {
+        return easing;
+    }
+
+    public double getPhase() {
+        return phase;
+    }
 }
@@ -24,9 +24,11 @@ public class MultiplayerSession {
 
     private final Role role;
     private final Socket socket;
-    private final AtomicReference<RemoteState> latestState = new AtomicReference<>(new RemoteState());
+    private final AtomicReference<RemoteState> latestState = new AtomicReference<>(RemoteState.EMPTY);
     private final ExecutorService executor = Executors.newSingleThreadExecutor();
     private BufferedWriter writer;
+    private final StringBuilder stateLine = new StringBuilder(96);
+    private char[] stateChars = new char[96];
 
     private MultiplayerSession(Role role, Socket socket) {
         this.role = role;
@@ -105,13 +107,43 @@ public class MultiplayerSession {
             if (writer == null) {
                 writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
             }
-            String payload = String.format("STATE %.2f %.2f %s %d %d %d %d %d\n", x, y, gravity.name(), orbMask, paletteIndex, visorIndex, ready ? 1 : 0, sharedRespawns ? 1 : 0);
-            writer.write(payload);
+            stateLine.setLength(0);
+            stateLine.append("STATE ");
+            appendFixed2(stateLine, x);
+            stateLine.append(' ');
+            appendFixed2(stateLine, y);
+            stateLine.append(' ').append(gravity.name())
+                    .append(' ').append(orbMask)
+                    .append(' ').append(paletteIndex)
+                    .append(' ').append(visorIndex)
+                    .append(' ').append(ready ? 1 : 0)
+                    .append(' ').append(sharedRespawns ? 1 : 0)
+                    .append('\n');
+            int length = stateLine.length();
+            if (stateChars.length < length) {
+                stateChars = new char[length * 2];
+            }
+            stateLine.getChars(0, length, stateChars, 0);
+            writer.write(stateChars, 0, length);
             writer.flush();
         } catch (IOException ignored) {
         }
     }
 
+    private static void appendFixed2(StringBuilder out, double value) {
+        long hundredths = Math.round(value * 100);
+        if (hundredths < 0) {
+            out.append('-');
+            hundredths = -hundredths;
+        }
+        long fraction = hundredths % 100;
+        out.append(hundredths / 100).append('.');
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+
     public void sendLevelIndex(int index) {
         try {
             if (writer == null) {
@@ -160,7 +192,7 @@ public class MultiplayerSession {
     }
 
     public RemoteState pollRemoteState() {
-        return latestState.getAndSet(new RemoteState());
+        return latestState.getAndSet(RemoteState.EMPTY);
     }
 
     public void close() {
@@ -178,6 +210,8 @@ public class MultiplayerSession {
     public record RemoteState(Double x, Double y, GravityDir gravity, Long orbMask, Integer levelIndex,
                              Integer paletteIndex, Integer visorIndex, Boolean ready, Boolean sharedRespawns,
                              boolean startSignal, boolean respawnSignal, String levelId, String levelPayload) {
+        public static final RemoteState EMPTY = new RemoteState();
+
         public RemoteState() {
             this(null, null, null, null, null, null, null, null, null, false, false, null, null);
         }
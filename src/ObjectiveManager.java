@@ -5,40 +5,71 @@ public class ObjectiveManager {
     private final List<FluxOrb> orbs;
     private final ExitGate exitGate;
     private final double parTimeSeconds;
+    private final long[] collected;
+    private int collectedCount;
     private double elapsedTime;
 
     public ObjectiveManager(List<FluxOrb> orbs, ExitGate exitGate, double parTimeSeconds) {
         this.orbs = new ArrayList<>(orbs);
         this.exitGate = exitGate;
         this.parTimeSeconds = parTimeSeconds;
+        this.collected = new long[(this.orbs.size() + 63) / 64];
     }
 
-    public void update(double dt, Player player) {
+    public void update(double dt) {
         elapsedTime += dt;
-        int collectedCount = 0;
-        for (FluxOrb orb : orbs) {
-            if (orb.checkCollected(player)) {
-                // collected handled inside
-            }
-            if (orb.isCollected()) {
-                collectedCount++;
-            }
-        }
-        if (collectedCount == orbs.size()) {
+        if (!exitGate.isUnlocked() && allOrbsCollected()) {
             exitGate.setUnlocked(true);
         }
     }
 
-    public boolean allOrbsCollected() {
-        int collectedCount = 0;
-        for (FluxOrb orb : orbs) {
-            if (orb.isCollected()) {
-                collectedCount++;
-            }
+    public boolean onOrbCollected(int index) {
+        if (index < 0 || index >= orbs.size() || isCollected(index)) {
+            return false;
+        }
+        collected[index >>> 6] |= 1L << (index & 63);
+        collectedCount++;
+        orbs.get(index).setCollected(true);
+        return true;
+    }
+
+    void writeState(WorldSnapshot snapshot) {
+        for (long word : collected) {
+            snapshot.putWord(word);
+        }
+        snapshot.putReal(elapsedTime);
+        snapshot.putFlag(exitGate.isUnlocked());
+    }
+
+    void readState(WorldSnapshot snapshot) {
+        collectedCount = 0;
+        for (int i = 0; i < collected.length; i++) {
+            collected[i] = snapshot.nextWord();
+            collectedCount += Long.bitCount(collected[i]);
+        }
+        for (int i = 0; i < orbs.size(); i++) {
+            orbs.get(i).setCollected(isCollected(i));
         }
+        elapsedTime = snapshot.nextReal();
+        exitGate.setUnlocked(snapshot.nextFlag());
+    }
+
+    public boolean isCollected(int index) {
+        return (collected[index >>> 6] & (1L << (index & 63))) != 0;
+    }
+
+    public boolean allOrbsCollected() {
         return collectedCount == orbs.size();
     }
 
+    public int getCollectedCount() {
+        return collectedCount;
+    }
+
+    public int getOrbCount() {
+        return orbs.size();
+    }
+
     public double getElapsedTime() {
         return elapsedTime;
     }
@@ -0,0 +1,148 @@
+import java.util.Arrays;
+
+public class PlatformIndex {
+    private static final double CELL_SIZE = 64;
+    private static final double CRATE_MARGIN = 512;
+
+    private final GeometryStore geometry;
+    private final WorldChunks chunks;
+    private final UniformGrid grid;
+    private final UniformGrid crateGrid;
+    private final boolean hasCrates;
+    private int[] results = new int[16];
+    private int resultCount;
+
+    public PlatformIndex(GeometryStore geometry, WorldChunks chunks) {
+        this.geometry = geometry;
+        this.chunks = chunks;
+        double minX = 0;
+        double minY = 0;
+        double maxX = CELL_SIZE;
+        double maxY = CELL_SIZE;
+        int first = geometry.firstOf(GeometryStore.SOLID);
+        int end = geometry.endOf(GeometryStore.SOLID);
+        for (int id = first; id < end; id++) {
+            minX = Math.min(minX, geometry.getX(id));
+            minY = Math.min(minY, geometry.getY(id));
+            maxX = Math.max(maxX, geometry.getX(id) + geometry.getWidth(id));
+            maxY = Math.max(maxY, geometry.getY(id) + geometry.getHeight(id));
+        }
+        grid = new UniformGrid(minX, minY, maxX, maxY, CELL_SIZE);
+        for (int id = first; id < end; id++) {
+            grid.insert(id, geometry.getX(id), geometry.getY(id), geometry.getWidth(id), geometry.getHeight(id));
+        }
+        hasCrates = geometry.endOf(GeometryStore.CRATE) > geometry.firstOf(GeometryStore.CRATE);
+        crateGrid = new UniformGrid(minX - CRATE_MARGIN, minY - CRATE_MARGIN, maxX + CRATE_MARGIN, maxY + CRATE_MARGIN, CELL_SIZE);
+        if (hasCrates) {
+            crateGrid.reserve(geometry.endOf(GeometryStore.CRATE) - 1, crateCellCapacity());
+        }
+    }
+
+    // Settled crates do not overlap, so a cell can only touch as many as fit around it edge to edge;
+    // the smallest crate sets that bound, and there can never be more than the level has.
+    private int crateCellCapacity() {
+        int first = geometry.firstOf(GeometryStore.CRATE);
+        int end = geometry.endOf(GeometryStore.CRATE);
+        double minW = CELL_SIZE;
+        double minH = CELL_SIZE;
+        for (int id = first; id < end; id++) {
+            minW = Math.min(minW, geometry.getWidth(id));
+            minH = Math.min(minH, geometry.getHeight(id));
+        }
+        int perRow = (int) (CELL_SIZE / Math.max(1, minW)) + 2;
+        int perCol = (int) (CELL_SIZE / Math.max(1, minH)) + 2;
+        return Math.min(end - first, perRow * perCol);
+    }
+
+    public void rebuildCrates() {
+        crateGrid.clear();
+        int end = geometry.endOf(GeometryStore.CRATE);
+        for (int id = geometry.firstOf(GeometryStore.CRATE); id < end; id++) {
+            if (geometry.isBlocking(id)) {
+                crateGrid.insert(id, geometry.getX(id), geometry.getY(id), geometry.getWidth(id), geometry.getHeight(id));
+            }
+        }
+    }
+
+    public int queryCrates(double x, double y, double w, double h) {
+        resultCount = 0;
+        addCrates(x, y, w, h);
+        return resultCount;
+    }
+
+    public void moveCrate(int id, double newX, double newY) {
+        crateGrid.move(id, geometry.getX(id), geometry.getY(id), newX, newY, geometry.getWidth(id), geometry.getHeight(id));
+    }
+
+    public void removeCrate(int id) {
+        crateGrid.remove(id, geometry.getX(id), geometry.getY(id), geometry.getWidth(id), geometry.getHeight(id));
+    }
+
+    // Cell contents get reordered as crates move, so crate hits are sorted by id to keep the order
+    // (and with it any tie in a sweep) the same after a snapshot restore rebuilds the grid.
+    private void addCrates(double x, double y, double w, double h) {
+        int start = resultCount;
+        int count = crateGrid.query(x, y, w, h);
+        for (int i = 0; i < count; i++) {
+            int id = crateGrid.getResult(i);
+            if (geometry.isBlocking(id) && geometry.overlaps(id, x, y, w, h)) {
+                addResult(id);
+            }
+        }
+        for (int i = start + 1; i < resultCount; i++) {
+            int id = results[i];
+            int j = i - 1;
+            while (j >= start && results[j] > id) {
+                results[j + 1] = results[j];
+                j--;
+            }
+            results[j + 1] = id;
+        }
+    }
+
+    public int query(double x, double y, double w, double h, boolean includeDynamic) {
+        resultCount = 0;
+        int count = grid.query(x, y, w, h);
+        for (int i = 0; i < count; i++) {
+            int id = grid.getResult(i);
+            if (geometry.overlaps(id, x, y, w, h)) {
+                addResult(id);
+            }
+        }
+        if (includeDynamic) {
+            // Only movers in live chunks are candidates; frozen ones are out of everyone's reach.
+            int firstMover = geometry.firstOf(GeometryStore.MOVER);
+            for (int i = 0; i < chunks.getActiveMoverCount(); i++) {
+                int id = firstMover + chunks.getActiveMover(i);
+                if (geometry.isBlocking(id) && geometry.overlaps(id, x, y, w, h)) {
+                    addResult(id);
+                }
+            }
+            int end = geometry.endOf(GeometryStore.DOOR);
+            for (int id = geometry.firstOf(GeometryStore.DOOR); id < end; id++) {
+                if (geometry.isBlocking(id) && geometry.overlaps(id, x, y, w, h)) {
+                    addResult(id);
+                }
+            }
+            if (hasCrates) {
+                addCrates(x, y, w, h);
+            }
+        }
+        return resultCount;
+    }
+
+    private void addResult(int id) {
+        if (resultCount == results.length) {
+            results = Arrays.copyOf(results, results.length * 2);
+        }
+        results[resultCount++] = id;
+    }
+
+    public int[] getResults() {
+        return results;
+    }
+
+    public int getResultCount() {
+        return resultCount;
+    }
+}
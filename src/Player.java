@@ -2,17 +2,19 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.BasicStroke;
 import java.awt.geom.AffineTransform;
-import java.awt.geom.Rectangle2D;
-import java.util.List;
 
 public class Player {
     private static final double GRAVITY = 0.6;
     private static final double MAX_FALL_SPEED = 12.0;
     private static final double MAX_RUN_SPEED = 5.0;
     private static final double JUMP_VELOCITY = 10.5;
+    public static final double MAX_STEP = Math.max(MAX_FALL_SPEED, JUMP_VELOCITY);
+    private static final double CONTACT_EPSILON = 1e-9;
 
     private double x;
     private double y;
+    private double prevX;
+    private double prevY;
     private final int width;
     private final int height;
     private double velX;
@@ -21,14 +23,22 @@ public class Player {
     private double animationTimer;
     private double walkCycle;
     private boolean facingRight = true;
+    private final ContactSet contacts = new ContactSet();
 
     public Player(double x, double y, int width, int height) {
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
         this.width = width;
         this.height = height;
     }
 
+    public void beginTick() {
+        prevX = x;
+        prevY = y;
+    }
+
     public void addVelocity(double dx, double dy) {
         velX += dx;
         velY += dy;
@@ -48,89 +58,116 @@ public class Player {
         }
     }
 
-    public void applyPhysics(List<Platform> platforms, GravityDir gravityDir) {
+    // Velocities stay in pixels per tick; a sub-step integrates the given fraction of a tick.
+    public void applyPhysics(GeometryStore geometry, int[] candidates, int candidateCount, GravityDir gravityDir, double fraction) {
         if (gravityDir.isVertical()) {
-            velY += GRAVITY * gravityDir.gravitySign();
+            velY += GRAVITY * fraction * gravityDir.gravitySign();
             if (Math.abs(velY) > MAX_FALL_SPEED) {
                 velY = MAX_FALL_SPEED * Math.signum(velY);
             }
             velX = clampMagnitude(velX, MAX_RUN_SPEED);
         } else {
-            velX += GRAVITY * gravityDir.gravitySign();
+            velX += GRAVITY * fraction * gravityDir.gravitySign();
             if (Math.abs(velX) > MAX_FALL_SPEED) {
                 velX = MAX_FALL_SPEED * Math.signum(velX);
             }
             velY = clampMagnitude(velY, MAX_RUN_SPEED);
         }
 
+        contacts.clear();
         if (gravityDir.isVertical()) {
-            double nextX = x + velX;
-            Platform horizontalHit = collide(nextX, y, platforms);
-            if (horizontalHit != null) {
-                if (velX > 0) {
-                    nextX = horizontalHit.getX() - width;
-                } else if (velX < 0) {
-                    nextX = horizontalHit.getX() + horizontalHit.getWidth();
-                }
+            if (moveX(velX * fraction, geometry, candidates, candidateCount) >= 0) {
                 velX = 0;
             }
-
-            double nextY = y + velY;
-            Platform verticalHit = collide(nextX, nextY, platforms);
-            grounded = false;
-            if (verticalHit != null) {
-                if (velY > 0) {
-                    nextY = verticalHit.getY() - height;
-                    grounded = gravityDir == GravityDir.DOWN;
-                } else if (velY < 0) {
-                    nextY = verticalHit.getY() + verticalHit.getHeight();
-                    grounded = gravityDir == GravityDir.UP;
-                }
+            if (moveY(velY * fraction, geometry, candidates, candidateCount) >= 0) {
                 velY = 0;
             }
-
-            x = nextX;
-            y = nextY;
         } else {
-            double nextY = y + velY;
-            Platform verticalTangentHit = collide(x, nextY, platforms);
-            if (verticalTangentHit != null) {
-                if (velY > 0) {
-                    nextY = verticalTangentHit.getY() - height;
-                } else if (velY < 0) {
-                    nextY = verticalTangentHit.getY() + verticalTangentHit.getHeight();
-                }
+            if (moveY(velY * fraction, geometry, candidates, candidateCount) >= 0) {
                 velY = 0;
             }
-
-            double nextX = x + velX;
-            Platform horizontalHit = collide(nextX, nextY, platforms);
-            grounded = false;
-            if (horizontalHit != null) {
-                if (velX > 0) {
-                    nextX = horizontalHit.getX() - width;
-                    grounded = gravityDir == GravityDir.RIGHT;
-                } else if (velX < 0) {
-                    nextX = horizontalHit.getX() + horizontalHit.getWidth();
-                    grounded = gravityDir == GravityDir.LEFT;
-                }
+            if (moveX(velX * fraction, geometry, candidates, candidateCount) >= 0) {
                 velX = 0;
             }
+        }
+        grounded = contacts.findSupport(gravityDir) >= 0;
+    }
 
-            x = nextX;
-            y = nextY;
+    private int moveX(double dx, GeometryStore geometry, int[] candidates, int candidateCount) {
+        if (dx == 0) {
+            return -1;
         }
+        int hit = -1;
+        int mark = contacts.getCount();
+        double bestToi = 1.0;
+        for (int i = 0; i < candidateCount; i++) {
+            int id = candidates[i];
+            double py = geometry.getY(id);
+            if (y + height <= py || y >= py + geometry.getHeight(id)) {
+                continue;
+            }
+            double px = geometry.getX(id);
+            double toi = dx > 0
+                    ? timeOfImpact(x + width, px, x, dx)
+                    : timeOfImpact(x, px + geometry.getWidth(id), x + width, dx);
+            if (hit < 0 ? toi < bestToi : toi < bestToi - CONTACT_EPSILON) {
+                bestToi = toi;
+                hit = id;
+                contacts.truncate(mark);
+                contacts.add(id, (dx > 0 ? -1 : 1), 0, geometry.getDeltaX(id), geometry.getDeltaY(id));
+            } else if (hit >= 0 && toi <= bestToi + CONTACT_EPSILON) {
+                contacts.add(id, (dx > 0 ? -1 : 1), 0, geometry.getDeltaX(id), geometry.getDeltaY(id));
+            }
+        }
+        if (hit < 0) {
+            x += dx;
+            return -1;
+        }
+        x = dx > 0 ? geometry.getX(hit) - width : geometry.getX(hit) + geometry.getWidth(hit);
+        return hit;
     }
 
-    private Platform collide(double nextX, double nextY, List<Platform> platforms) {
-        for (Platform p : platforms) {
-            boolean overlapX = nextX + width > p.getX() && nextX < p.getX() + p.getWidth();
-            boolean overlapY = nextY + height > p.getY() && nextY < p.getY() + p.getHeight();
-            if (overlapX && overlapY) {
-                return p;
+    private int moveY(double dy, GeometryStore geometry, int[] candidates, int candidateCount) {
+        if (dy == 0) {
+            return -1;
+        }
+        int hit = -1;
+        int mark = contacts.getCount();
+        double bestToi = 1.0;
+        for (int i = 0; i < candidateCount; i++) {
+            int id = candidates[i];
+            double px = geometry.getX(id);
+            if (x + width <= px || x >= px + geometry.getWidth(id)) {
+                continue;
+            }
+            double py = geometry.getY(id);
+            double toi = dy > 0
+                    ? timeOfImpact(y + height, py, y, dy)
+                    : timeOfImpact(y, py + geometry.getHeight(id), y + height, dy);
+            if (hit < 0 ? toi < bestToi : toi < bestToi - CONTACT_EPSILON) {
+                bestToi = toi;
+                hit = id;
+                contacts.truncate(mark);
+                contacts.add(id, 0, (dy > 0 ? -1 : 1), geometry.getDeltaX(id), geometry.getDeltaY(id));
+            } else if (hit >= 0 && toi <= bestToi + CONTACT_EPSILON) {
+                contacts.add(id, 0, (dy > 0 ? -1 : 1), geometry.getDeltaX(id), geometry.getDeltaY(id));
             }
         }
-        return null;
+        if (hit < 0) {
+            y += dy;
+            return -1;
+        }
+        y = dy > 0 ? geometry.getY(hit) - height : geometry.getY(hit) + geometry.getHeight(hit);
+        return hit;
+    }
+
+    // A face between the trailing and leading edge (a block that moved into us) yields a negative
+    // time of impact, which resolves by pushing the player back out along the sweep.
+    private double timeOfImpact(double leadingEdge, double face, double trailingEdge, double delta) {
+        if (delta > 0 ? face < trailingEdge : face > trailingEdge) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return (face - leadingEdge) / delta;
     }
 
     private double clampMagnitude(double value, double max) {
@@ -161,6 +198,13 @@ public class Player {
     public void setPosition(double newX, double newY) {
         this.x = newX;
         this.y = newY;
+        this.prevX = newX;
+        this.prevY = newY;
+    }
+
+    public void translate(double dx, double dy) {
+        this.x += dx;
+        this.y += dy;
     }
 
     public void setVelocity(double newVelX, double newVelY) {
@@ -173,10 +217,16 @@ public class Player {
     }
 
     public void draw(Graphics2D g2d, GravityDir gravityDir, Color suitPrimary, Color suitSecondary, Color visorColor) {
+        draw(g2d, gravityDir, suitPrimary, suitSecondary, visorColor, 1.0);
+    }
+
+    public void draw(Graphics2D g2d, GravityDir gravityDir, Color suitPrimary, Color suitSecondary, Color visorColor, double alpha) {
         AffineTransform old = g2d.getTransform();
         java.awt.Stroke oldStroke = g2d.getStroke();
-        double centerX = x + width / 2.0;
-        double centerY = y + height / 2.0;
+        double drawX = getRenderX(alpha);
+        double drawY = getRenderY(alpha);
+        double centerX = drawX + width / 2.0;
+        double centerY = drawY + height / 2.0;
         double angle = switch (gravityDir) {
             case DOWN -> 0;
             case UP -> Math.PI;
@@ -190,8 +240,8 @@ public class Player {
         g2d.scale(facingScale, 1);
         g2d.translate(-centerX, -centerY);
 
-        double bodyX = x;
-        double bodyY = y;
+        double bodyX = drawX;
+        double bodyY = drawY;
         double limbThickness = Math.max(4, width / 5.0);
         double torsoWidth = width - limbThickness;
         double torsoHeight = height - 12;
@@ -267,6 +317,33 @@ public class Player {
         }
     }
 
+    void writeState(WorldSnapshot snapshot) {
+        snapshot.putReal(x);
+        snapshot.putReal(y);
+        snapshot.putReal(prevX);
+        snapshot.putReal(prevY);
+        snapshot.putReal(velX);
+        snapshot.putReal(velY);
+        snapshot.putReal(animationTimer);
+        snapshot.putReal(walkCycle);
+        snapshot.putWord((grounded ? 1 : 0) | (facingRight ? 2 : 0));
+    }
+
+    void readState(WorldSnapshot snapshot) {
+        x = snapshot.nextReal();
+        y = snapshot.nextReal();
+        prevX = snapshot.nextReal();
+        prevY = snapshot.nextReal();
+        velX = snapshot.nextReal();
+        velY = snapshot.nextReal();
+        animationTimer = snapshot.nextReal();
+        walkCycle = snapshot.nextReal();
+        long flags = snapshot.nextWord();
+        grounded = (flags & 1) != 0;
+        facingRight = (flags & 2) != 0;
+        contacts.clear();
+    }
+
     public void setFacingRight(boolean value) {
         facingRight = value;
     }
@@ -279,6 +356,14 @@ public class Player {
         return y;
     }
 
+    public double getRenderX(double alpha) {
+        return prevX + (x - prevX) * alpha;
+    }
+
+    public double getRenderY(double alpha) {
+        return prevY + (y - prevY) * alpha;
+    }
+
     public int getWidth() {
         return width;
     }
@@ -295,11 +380,11 @@ public class Player {
         return velY;
     }
 
-    public boolean isGrounded() {
-        return grounded;
+    public ContactSet getContacts() {
+        return contacts;
     }
 
-    public Rectangle2D getBounds() {
-        return new Rectangle2D.Double(x, y, width, height);
+    public boolean isGrounded() {
+        return grounded;
     }
 }
@@ -0,0 +1,104 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class PostProcessPipeline {
+    public interface RowStage {
+        void apply(int fromRow, int toRow);
+    }
+
+    // Small enough that every core gets a few bands of a 540-row frame to balance uneven work.
+    private static final int TILE_ROWS = 24;
+    private static final double TIMING_SMOOTHING = 0.1;
+
+    private final ForkJoinPool pool;
+    private final String[] names;
+    private final double[] stageMillis;
+    private final boolean[] ran;
+
+    public PostProcessPipeline(String... names) {
+        this.names = names;
+        stageMillis = new double[names.length];
+        ran = new boolean[names.length];
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    public void beginFrame() {
+        for (int i = 0; i < ran.length; i++) {
+            ran[i] = false;
+        }
+    }
+
+    // Stages run one after another; within a stage each band of rows is independent, so a stage
+    // may only write its own rows and read anything the earlier stages produced.
+    public void runTiled(int stage, int height, RowStage rows) {
+        long start = System.nanoTime();
+        int tiles = (height + TILE_ROWS - 1) / TILE_ROWS;
+        if (tiles <= 1) {
+            rows.apply(0, height);
+        } else {
+            pool.invoke(new TileRange(rows, height, 0, tiles));
+        }
+        record(stage, start);
+    }
+
+    // For stages that must see the whole frame at once, e.g. ones that draw from a shared random
+    // stream; they still show up in the timings.
+    public void runSerial(int stage, Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        record(stage, start);
+    }
+
+    private void record(int stage, long start) {
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        stageMillis[stage] += (millis - stageMillis[stage]) * TIMING_SMOOTHING;
+        ran[stage] = true;
+    }
+
+    public int getStageCount() {
+        return names.length;
+    }
+
+    public String getStageName(int stage) {
+        return names[stage];
+    }
+
+    public double getStageMillis(int stage) {
+        return stageMillis[stage];
+    }
+
+    public boolean didRun(int stage) {
+        return ran[stage];
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    private static final class TileRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final RowStage rows;
+        private final int height;
+        private final int from;
+        private final int to;
+
+        TileRange(RowStage rows, int height, int from, int to) {
+            this.rows = rows;
+            this.height = height;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int tile = from; tile < to; tile++) {
+                    rows.apply(tile * TILE_ROWS, Math.min(height, (tile + 1) * TILE_ROWS));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new TileRange(rows, height, from, mid), new TileRange(rows, height, mid, to));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class RandomStreams {
+    public static final String EFFECTS = "effects";
+    public static final String AUDIO = "audio";
+    public static final String SPLASH = "splash";
+    public static final String VHS = "vhs";
+
+    private final Map<String, Random> streams = new LinkedHashMap<>();
+    private long seed;
+
+    public RandomStreams(long seed) {
+        this.seed = seed;
+    }
+
+    // Each subsystem draws from its own stream so that, for example, an extra particle burst
+    // never shifts the values seen by audio or anything else seeded from the same master seed.
+    public synchronized Random get(String name) {
+        Random stream = streams.get(name);
+        if (stream == null) {
+            stream = new Random(deriveSeed(seed, name));
+            streams.put(name, stream);
+        }
+        return stream;
+    }
+
+    public synchronized void reseed(long seed) {
+        this.seed = seed;
+        for (Map.Entry<String, Random> entry : streams.entrySet()) {
+            entry.getValue().setSeed(deriveSeed(seed, entry.getKey()));
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    private static long deriveSeed(long seed, String name) {
+        long z = seed ^ ((long) name.hashCode() * 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
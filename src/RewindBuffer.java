@@ -0,0 +1,78 @@
+public class RewindBuffer {
+    private final int capacity;
+    private final WorldSnapshot scratch = new WorldSnapshot();
+    private LevelData level;
+    private double[] reals = new double[0];
+    private long[] words = new long[0];
+    private int realStride;
+    private int wordStride;
+    private int head;
+    private int size;
+
+    public RewindBuffer(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    // Every frame of a level has the same layout, so frames live at fixed strides in two flat
+    // arrays. The arrays are only resized when a level with a larger layout is recorded.
+    public void record(WorldSimulation world) {
+        world.saveSnapshot(scratch);
+        if (scratch.isEmpty()) {
+            return;
+        }
+        if (scratch.getLevel() != level || scratch.getRealCount() != realStride || scratch.getWordCount() != wordStride) {
+            resize(scratch.getLevel(), scratch.getRealCount(), scratch.getWordCount());
+        }
+        scratch.writeTo(reals, head * realStride, words, head * wordStride);
+        head = (head + 1) % capacity;
+        if (size < capacity) {
+            size++;
+        }
+    }
+
+    public boolean rewind(WorldSimulation world) {
+        if (size == 0) {
+            return false;
+        }
+        int frame = (head - 1 + capacity) % capacity;
+        scratch.readFrom(level, reals, frame * realStride, realStride, words, frame * wordStride, wordStride);
+        if (!world.restoreSnapshot(scratch)) {
+            clear();
+            return false;
+        }
+        head = frame;
+        size--;
+        return true;
+    }
+
+    private void resize(LevelData newLevel, int newRealStride, int newWordStride) {
+        level = newLevel;
+        realStride = newRealStride;
+        wordStride = newWordStride;
+        if (reals.length < capacity * realStride) {
+            reals = new double[capacity * realStride];
+        }
+        if (words.length < capacity * wordStride) {
+            words = new long[capacity * wordStride];
+        }
+        head = 0;
+        size = 0;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public double getSecondsAvailable() {
+        return size * WorldSimulation.TICK_SECONDS;
+    }
+}
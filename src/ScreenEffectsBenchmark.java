@@ -0,0 +1,56 @@
+import java.awt.Color;
+import java.util.SplittableRandom;
+
+public class ScreenEffectsBenchmark {
+    private static final Color COOL = new Color(126, 86, 196, 120);
+    private static final Color WARM = new Color(196, 122, 74, 120);
+    private static final int[][] SIZES = {{960, 540}, {3840, 2160}};
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        ColorSmear scalar = new ColorSmear(COOL, WARM);
+        ColorSmear vector = ColorSmear.create(COOL, WARM);
+        if (!vector.isVectorized()) {
+            System.out.println("Vector API path unavailable; build src/vector and run with --add-modules jdk.incubator.vector");
+        }
+        for (int[] size : SIZES) {
+            int width = size[0];
+            int height = size[1];
+            int[] src = new int[width * height];
+            SplittableRandom random = new SplittableRandom(width);
+            for (int i = 0; i < src.length; i++) {
+                src[i] = 0xFF000000 | random.nextInt(0x1000000);
+            }
+            int[] scalarOut = new int[src.length];
+            int[] vectorOut = new int[src.length];
+            double scalarMillis = run(scalar, src, scalarOut, width, height, frames);
+            System.out.printf("%dx%d smear scalar %.2f ms%n", width, height, scalarMillis);
+            if (vector.isVectorized()) {
+                double vectorMillis = run(vector, src, vectorOut, width, height, frames);
+                int mismatches = 0;
+                for (int i = 0; i < src.length; i++) {
+                    if (scalarOut[i] != vectorOut[i]) {
+                        mismatches++;
+                    }
+                }
+                System.out.printf("%dx%d smear vector %.2f ms (%.1fx, %d mismatched pixels)%n",
+                        width, height, vectorMillis, scalarMillis / vectorMillis, mismatches);
+            }
+        }
+    }
+
+    // Best frame of the run, after a warm-up pass, at the strongest stress setting.
+    private static double run(ColorSmear smear, int[] src, int[] dst, int width, int height, int frames) {
+        smear.setup(5, 3, 0.55f, 0.45f);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < frames * 2; i++) {
+            long start = System.nanoTime();
+            smear.apply(src, dst, width, height, 0, height);
+            long elapsed = System.nanoTime() - start;
+            if (i >= frames) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        return best / 1_000_000.0;
+    }
+}
@@ -30,6 +30,9 @@ public class Settings {
     private int keyRight = java.awt.event.KeyEvent.VK_D;
     private int keyJump = java.awt.event.KeyEvent.VK_SPACE;
     private String lastDirectIp = "127.0.0.1";
+    private boolean deterministic = false;
+    private long seed = 0;
+    private int physicsRate = 60;
 
     public static Settings load() {
         Settings settings = new Settings();
@@ -74,6 +77,9 @@ public class Settings {
             settings.keyRight = Integer.parseInt(props.getProperty("keyRight", Integer.toString(settings.keyRight)));
             settings.keyJump = Integer.parseInt(props.getProperty("keyJump", Integer.toString(settings.keyJump)));
             settings.lastDirectIp = props.getProperty("lastDirectIp", settings.lastDirectIp);
+            settings.deterministic = Boolean.parseBoolean(props.getProperty("deterministic", "false"));
+            settings.seed = Long.parseLong(props.getProperty("seed", "0"));
+            settings.physicsRate = Integer.parseInt(props.getProperty("physicsRate", "60"));
         } catch (IOException | NumberFormatException ex) {
             // keep defaults
         }
@@ -92,6 +98,9 @@ public class Settings {
         props.setProperty("screenScale", Double.toString(screenScale));
         props.setProperty("showDebugHud", Boolean.toString(showDebugHud));
         props.setProperty("showFps", Boolean.toString(showFps));
+        props.setProperty("deterministic", Boolean.toString(deterministic));
+        props.setProperty("seed", Long.toString(seed));
+        props.setProperty("physicsRate", Integer.toString(physicsRate));
         props.setProperty("highContrastHud", Boolean.toString(highContrastHud));
         props.setProperty("movementEffects", Boolean.toString(movementEffects));
         props.setProperty("jumpEffects", Boolean.toString(jumpEffects));
@@ -157,6 +166,30 @@ public class Settings {
         this.showDebugHud = showDebugHud;
     }
 
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    public void setDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getPhysicsRate() {
+        return physicsRate;
+    }
+
+    public void setPhysicsRate(int physicsRate) {
+        this.physicsRate = Math.max(60, Math.min(480, physicsRate));
+    }
+
     public boolean isMovementEffectsEnabled() {
         return movementEffects;
     }
@@ -1,7 +1,5 @@
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Arrays;
+import java.util.Random;
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.LineUnavailableException;
@@ -10,67 +8,157 @@ import javax.sound.sampled.SourceDataLine;
 public final class SoundManager {
     private static final AudioFormat FORMAT = new AudioFormat(44100, 8, 1, true, true);
     private static final Object LINE_LOCK = new Object();
-    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
-        private final AtomicInteger counter = new AtomicInteger();
-
-        @Override
-        public Thread newThread(Runnable r) {
-            Thread t = new Thread(r, "sfx-" + counter.incrementAndGet());
-            t.setDaemon(true);
-            return t;
-        }
-    });
+    // Sounds are synthesised straight into a fixed ring of voice buffers that one daemon thread
+    // plays in order, so triggering a sound mid-tick allocates nothing. When every voice is still
+    // queued the new sound is dropped rather than piling up behind them.
+    private static final int VOICE_COUNT = 8;
+    private static final int VOICE_SAMPLES = (int) (FORMAT.getSampleRate() * 0.3);
+    private static final byte[][] VOICES = new byte[VOICE_COUNT][VOICE_SAMPLES];
+    private static final int[] VOICE_LENGTHS = new int[VOICE_COUNT];
+    private static final Object QUEUE_LOCK = new Object();
+    private static int queueHead;
+    private static int queueCount;
 
     private static volatile double masterVolume = 1.0;
+    private static final byte[] STEP_TONE = morphTone(120, 80, 60, 0.4);
+    private static final byte[] LANDING_THUMP = morphTone(110, 160, 90, 0.45);
+    private static volatile Random noise = new Random();
     private static SourceDataLine line;
 
+    static {
+        Thread playback = new Thread(SoundManager::drainVoices, "sfx");
+        playback.setDaemon(true);
+        playback.start();
+    }
+
     private SoundManager() {
     }
 
+    public static void setNoiseSource(Random source) {
+        noise = source != null ? source : new Random();
+    }
+
     public static void setMasterVolume(double volume) {
         masterVolume = Math.max(0.0, Math.min(1.0, volume));
     }
 
     public static void playTone(double frequency, int durationMs, double volume) {
-        enqueue(morphTone(frequency, frequency, durationMs, volume));
+        synchronized (QUEUE_LOCK) {
+            byte[] voice = beginVoice();
+            if (voice != null) {
+                commitVoice(addTone(voice, frequency, frequency, durationMs, volume));
+            }
+        }
     }
 
     public static void playNoise(int durationMs, double volume) {
-        enqueue(noiseBuffer(durationMs, volume));
+        synchronized (QUEUE_LOCK) {
+            byte[] voice = beginVoice();
+            if (voice != null) {
+                commitVoice(addNoise(voice, durationMs, volume));
+            }
+        }
     }
 
     public static void playJump() {
-        byte[] sweep = morphTone(920, 620, 120, 0.55);
-        byte[] hiss = noiseBuffer(80, 0.25);
-        enqueue(mix(sweep, hiss));
+        synchronized (QUEUE_LOCK) {
+            byte[] voice = beginVoice();
+            if (voice != null) {
+                int sweep = addTone(voice, 920, 620, 120, 0.55);
+                int hiss = addNoise(voice, 80, 0.25);
+                commitVoice(Math.max(sweep, hiss));
+            }
+        }
     }
 
     public static void playStep() {
-        enqueue(morphTone(120, 80, 60, 0.4));
+        synchronized (QUEUE_LOCK) {
+            byte[] voice = beginVoice();
+            if (voice != null) {
+                commitVoice(addBuffer(voice, STEP_TONE));
+            }
+        }
     }
 
     public static void playLanding() {
-        byte[] thump = morphTone(110, 160, 90, 0.45);
-        byte[] puff = noiseBuffer(70, 0.2);
-        enqueue(mix(thump, puff));
+        synchronized (QUEUE_LOCK) {
+            byte[] voice = beginVoice();
+            if (voice != null) {
+                int thump = addBuffer(voice, LANDING_THUMP);
+                int puff = addNoise(voice, 70, 0.2);
+                commitVoice(Math.max(thump, puff));
+            }
+        }
     }
 
     public static void playDeath() {
-        byte[] bass = morphTone(240, 70, 260, 0.7);
-        byte[] crackle = noiseBuffer(200, 0.55);
-        enqueue(mix(bass, crackle));
+        synchronized (QUEUE_LOCK) {
+            byte[] voice = beginVoice();
+            if (voice != null) {
+                int bass = addTone(voice, 240, 70, 260, 0.7);
+                int crackle = addNoise(voice, 200, 0.55);
+                commitVoice(Math.max(bass, crackle));
+            }
+        }
     }
 
     public static void playOrb() {
-        byte[] chime = morphTone(1320, 1860, 180, 0.6);
-        enqueue(chime);
+        synchronized (QUEUE_LOCK) {
+            byte[] voice = beginVoice();
+            if (voice != null) {
+                commitVoice(addTone(voice, 1320, 1860, 180, 0.6));
+            }
+        }
     }
 
-    private static void enqueue(byte[] buffer) {
-        if (buffer.length == 0 || masterVolume <= 0) {
+    // Returns the next free voice, cleared, or null if muted or every voice is queued. Callers hold
+    // QUEUE_LOCK from here until commitVoice.
+    private static byte[] beginVoice() {
+        if (masterVolume <= 0 || queueCount == VOICE_COUNT) {
+            return null;
+        }
+        byte[] voice = VOICES[(queueHead + queueCount) % VOICE_COUNT];
+        Arrays.fill(voice, (byte) 0);
+        return voice;
+    }
+
+    private static void commitVoice(int length) {
+        if (length == 0) {
             return;
         }
-        EXECUTOR.execute(() -> playBuffer(applyVolume(buffer, masterVolume)));
+        int slot = (queueHead + queueCount) % VOICE_COUNT;
+        double volume = masterVolume;
+        if (volume < 0.999) {
+            byte[] voice = VOICES[slot];
+            for (int i = 0; i < length; i++) {
+                voice[i] = (byte) (voice[i] * volume);
+            }
+        }
+        VOICE_LENGTHS[slot] = length;
+        queueCount++;
+        QUEUE_LOCK.notify();
+    }
+
+    private static void drainVoices() {
+        while (true) {
+            int slot;
+            synchronized (QUEUE_LOCK) {
+                while (queueCount == 0) {
+                    try {
+                        QUEUE_LOCK.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                slot = queueHead;
+            }
+            // The slot stays counted while it plays, so producers cannot reuse it underneath us.
+            playBuffer(VOICES[slot], VOICE_LENGTHS[slot]);
+            synchronized (QUEUE_LOCK) {
+                queueHead = (queueHead + 1) % VOICE_COUNT;
+                queueCount--;
+            }
+        }
     }
 
     private static void ensureLine() throws LineUnavailableException {
@@ -84,10 +172,10 @@ public final class SoundManager {
         }
     }
 
-    private static void playBuffer(byte[] buffer) {
+    private static void playBuffer(byte[] buffer, int length) {
         try {
             ensureLine();
-        } catch (LineUnavailableException ex) {
+        } catch (LineUnavailableException | IllegalArgumentException ex) {
             return;
         }
         SourceDataLine active;
@@ -97,66 +185,57 @@ public final class SoundManager {
         if (active == null) {
             return;
         }
-        active.write(buffer, 0, buffer.length);
+        active.write(buffer, 0, length);
     }
 
     private static byte[] morphTone(double startFreq, double endFreq, int durationMs, double volume) {
-        int samples = (int) (FORMAT.getSampleRate() * (durationMs / 1000.0));
-        if (samples <= 0) {
-            return new byte[0];
-        }
-        byte[] buffer = new byte[samples];
+        byte[] buffer = new byte[Math.max(0, sampleCount(durationMs))];
+        addTone(buffer, startFreq, endFreq, durationMs, volume);
+        return buffer;
+    }
+
+    private static int sampleCount(int durationMs) {
+        return (int) (FORMAT.getSampleRate() * (durationMs / 1000.0));
+    }
+
+    // The add* helpers mix into a voice with clipping and return how many samples they covered;
+    // anything longer than the voice is cut off.
+    private static int addTone(byte[] voice, double startFreq, double endFreq, int durationMs, double volume) {
+        int samples = sampleCount(durationMs);
+        int length = Math.max(0, Math.min(samples, voice.length));
         double amplitude = 127 * volume;
         double sampleRate = FORMAT.getSampleRate();
-        for (int i = 0; i < samples; i++) {
+        for (int i = 0; i < length; i++) {
             double t = i / (double) samples;
             double freq = startFreq + (endFreq - startFreq) * t;
             double envelope = 1.0 - (t * t);
             double angle = 2.0 * Math.PI * freq * (i / sampleRate);
-            buffer[i] = (byte) (Math.sin(angle) * amplitude * envelope);
+            voice[i] = clip(voice[i] + (byte) (Math.sin(angle) * amplitude * envelope));
         }
-        return buffer;
+        return length;
     }
 
-    private static byte[] noiseBuffer(int durationMs, double volume) {
-        int samples = (int) (FORMAT.getSampleRate() * (durationMs / 1000.0));
-        if (samples <= 0) {
-            return new byte[0];
-        }
-        byte[] buffer = new byte[samples];
+    private static int addNoise(byte[] voice, int durationMs, double volume) {
+        int samples = sampleCount(durationMs);
+        int length = Math.max(0, Math.min(samples, voice.length));
         double amplitude = 127 * volume;
-        for (int i = 0; i < samples; i++) {
+        Random source = noise;
+        for (int i = 0; i < length; i++) {
             double falloff = 1.0 - (i / (double) samples);
-            buffer[i] = (byte) ((Math.random() * 2 - 1) * amplitude * falloff);
+            voice[i] = clip(voice[i] + (byte) ((source.nextDouble() * 2 - 1) * amplitude * falloff));
         }
-        return buffer;
+        return length;
     }
 
-    private static byte[] mix(byte[] a, byte[] b) {
-        int max = Math.max(a.length, b.length);
-        byte[] out = new byte[max];
-        for (int i = 0; i < max; i++) {
-            int sample = 0;
-            if (i < a.length) {
-                sample += a[i];
-            }
-            if (i < b.length) {
-                sample += b[i];
-            }
-            sample = Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, sample));
-            out[i] = (byte) sample;
+    private static int addBuffer(byte[] voice, byte[] buffer) {
+        int length = Math.min(buffer.length, voice.length);
+        for (int i = 0; i < length; i++) {
+            voice[i] = clip(voice[i] + buffer[i]);
         }
-        return out;
+        return length;
     }
 
-    private static byte[] applyVolume(byte[] buffer, double volume) {
-        if (volume >= 0.999) {
-            return buffer;
-        }
-        byte[] scaled = new byte[buffer.length];
-        for (int i = 0; i < buffer.length; i++) {
-            scaled[i] = (byte) (buffer[i] * volume);
-        }
-        return scaled;
+    private static byte clip(int sample) {
+        return (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, sample));
     }
 }
@@ -31,16 +31,6 @@ public class Spike {
         return height;
     }
 
-    public boolean intersects(Player player) {
-        double px = player.getX();
-        double py = player.getY();
-        double pw = player.getWidth();
-        double ph = player.getHeight();
-        boolean overlapX = px + pw > x && px < x + width;
-        boolean overlapY = py + ph > y && py < y + height;
-        return overlapX && overlapY;
-    }
-
     public void draw(Graphics2D g2d) {
         int teeth = Math.max(3, width / 14);
         int toothWidth = Math.max(8, width / teeth);
@@ -0,0 +1,92 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+public class StaticLayerCache {
+    public interface Painter {
+        void paintStatic(Graphics2D g2d, int x, int y, int width, int height);
+    }
+
+    private static final int TILE_SIZE = (int) WorldChunks.CHUNK_SIZE;
+    // Enough for every tile a screen can overlap plus a ring around it, so scrolling back and
+    // forth does not re-render.
+    private static final int MAX_TILES = 20;
+    // Shadows and outlines hang a few pixels off their owner; anything closer than this to a tile
+    // edge is drawn into both tiles.
+    private static final int BLEED = 8;
+
+    private final Painter painter;
+    private final BufferedImage[] images = new BufferedImage[MAX_TILES];
+    private final int[] keys = new int[MAX_TILES];
+    private final long[] lastUsed = new long[MAX_TILES];
+    private long frame;
+    private WorldChunks owner;
+    private int cols;
+    private int rows;
+    private int renderedTiles;
+
+    public StaticLayerCache(Painter painter) {
+        this.painter = painter;
+        Arrays.fill(keys, -1);
+    }
+
+    // Tiles belong to the level whose chunks they were cut from; a new WorldChunks means a new
+    // (or restarted) level and drops every tile.
+    public void draw(Graphics2D g2d, WorldChunks chunks, double viewX, double viewY, int viewW, int viewH) {
+        frame++;
+        if (chunks != owner) {
+            owner = chunks;
+            cols = Math.max(1, (int) Math.ceil(chunks.getWidth() / (double) TILE_SIZE));
+            rows = Math.max(1, (int) Math.ceil(chunks.getHeight() / (double) TILE_SIZE));
+            invalidateAll();
+        }
+        int minCol = Math.max(0, (int) Math.floor(viewX / TILE_SIZE));
+        int minRow = Math.max(0, (int) Math.floor(viewY / TILE_SIZE));
+        int maxCol = Math.min(cols - 1, (int) Math.floor((viewX + viewW - 1) / TILE_SIZE));
+        int maxRow = Math.min(rows - 1, (int) Math.floor((viewY + viewH - 1) / TILE_SIZE));
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                g2d.drawImage(getTile(row * cols + col, col * TILE_SIZE, row * TILE_SIZE), col * TILE_SIZE, row * TILE_SIZE, null);
+            }
+        }
+    }
+
+    private BufferedImage getTile(int key, int x, int y) {
+        int slot = 0;
+        for (int i = 0; i < MAX_TILES; i++) {
+            if (keys[i] == key) {
+                lastUsed[i] = frame;
+                return images[i];
+            }
+            if (lastUsed[i] < lastUsed[slot]) {
+                slot = i;
+            }
+        }
+        if (images[slot] == null) {
+            images[slot] = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        }
+        Graphics2D g2d = images[slot].createGraphics();
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(0, 0, TILE_SIZE, TILE_SIZE);
+        g2d.setComposite(AlphaComposite.SrcOver);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2d.translate(-x, -y);
+        painter.paintStatic(g2d, x - BLEED, y - BLEED, TILE_SIZE + BLEED * 2, TILE_SIZE + BLEED * 2);
+        g2d.dispose();
+        keys[slot] = key;
+        lastUsed[slot] = frame;
+        renderedTiles++;
+        return images[slot];
+    }
+
+    public void invalidateAll() {
+        Arrays.fill(keys, -1);
+        Arrays.fill(lastUsed, 0);
+    }
+
+    public int getRenderedTiles() {
+        return renderedTiles;
+    }
+}
@@ -0,0 +1,123 @@
+import java.util.Arrays;
+import java.util.List;
+
+public class TriggerIndex {
+    public static final int SPIKE = 0;
+    public static final int ORB = 1;
+    public static final int CHECKPOINT = 2;
+    public static final int BUTTON = 3;
+    public static final int EXIT = 4;
+    private static final double CELL_SIZE = 64;
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] w;
+    private final double[] h;
+    private final double[] radius;
+    private final int[] type;
+    private final int[] ref;
+    private final UniformGrid grid;
+    private int count;
+    private int[] hits = new int[16];
+    private int hitCount;
+
+    public TriggerIndex(GeometryStore geometry, List<FluxOrb> orbs, List<Checkpoint> checkpoints, ExitGate exitGate) {
+        int spikeStart = geometry.firstOf(GeometryStore.SPIKE);
+        int spikeEnd = geometry.endOf(GeometryStore.SPIKE);
+        int buttonStart = geometry.firstOf(GeometryStore.BUTTON);
+        int buttonEnd = geometry.endOf(GeometryStore.BUTTON);
+        int capacity = (spikeEnd - spikeStart) + (buttonEnd - buttonStart) + orbs.size() + checkpoints.size() + 1;
+        x = new double[capacity];
+        y = new double[capacity];
+        w = new double[capacity];
+        h = new double[capacity];
+        radius = new double[capacity];
+        type = new int[capacity];
+        ref = new int[capacity];
+
+        for (int id = spikeStart; id < spikeEnd; id++) {
+            addBox(SPIKE, id - spikeStart, geometry.getX(id), geometry.getY(id), geometry.getWidth(id), geometry.getHeight(id));
+        }
+        for (int id = buttonStart; id < buttonEnd; id++) {
+            addBox(BUTTON, id - buttonStart, geometry.getX(id), geometry.getY(id), geometry.getWidth(id), geometry.getHeight(id));
+        }
+        for (int i = 0; i < orbs.size(); i++) {
+            FluxOrb orb = orbs.get(i);
+            addCircle(ORB, i, orb.getPosition().x, orb.getPosition().y, orb.getRadius());
+        }
+        for (int i = 0; i < checkpoints.size(); i++) {
+            Checkpoint checkpoint = checkpoints.get(i);
+            addCircle(CHECKPOINT, i, checkpoint.getPosition().x, checkpoint.getPosition().y, checkpoint.getRadius());
+        }
+        addBox(EXIT, 0, exitGate.getX(), exitGate.getY(), exitGate.getWidth(), exitGate.getHeight());
+
+        double minX = 0;
+        double minY = 0;
+        double maxX = CELL_SIZE;
+        double maxY = CELL_SIZE;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i] + w[i]);
+            maxY = Math.max(maxY, y[i] + h[i]);
+        }
+        grid = new UniformGrid(minX, minY, maxX, maxY, CELL_SIZE);
+        for (int i = 0; i < count; i++) {
+            grid.insert(i, x[i], y[i], w[i], h[i]);
+        }
+    }
+
+    private void addBox(int kind, int index, double bx, double by, double bw, double bh) {
+        x[count] = bx;
+        y[count] = by;
+        w[count] = bw;
+        h[count] = bh;
+        type[count] = kind;
+        ref[count] = index;
+        count++;
+    }
+
+    private void addCircle(int kind, int index, double cx, double cy, double r) {
+        addBox(kind, index, cx - r, cy - r, r * 2, r * 2);
+        radius[count - 1] = r;
+    }
+
+    public int query(double px, double py, double pw, double ph) {
+        hitCount = 0;
+        int candidates = grid.query(px, py, pw, ph);
+        for (int i = 0; i < candidates; i++) {
+            int trigger = grid.getResult(i);
+            if (overlaps(trigger, px, py, pw, ph)) {
+                if (hitCount == hits.length) {
+                    hits = Arrays.copyOf(hits, hits.length * 2);
+                }
+                hits[hitCount++] = trigger;
+            }
+        }
+        return hitCount;
+    }
+
+    private boolean overlaps(int trigger, double px, double py, double pw, double ph) {
+        double r = radius[trigger];
+        if (r == 0) {
+            return px + pw > x[trigger] && px < x[trigger] + w[trigger] && py + ph > y[trigger] && py < y[trigger] + h[trigger];
+        }
+        double cx = x[trigger] + r;
+        double cy = y[trigger] + r;
+        double dx = cx - Math.max(px, Math.min(px + pw, cx));
+        double dy = cy - Math.max(py, Math.min(py + ph, cy));
+        return dx * dx + dy * dy <= r * r;
+    }
+
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    public int getHitType(int index) {
+        return type[hits[index]];
+    }
+
+    public int getHitRef(int index) {
+        return ref[hits[index]];
+    }
+}
@@ -0,0 +1,159 @@
+import java.util.Arrays;
+
+public class UniformGrid {
+    private final double cellSize;
+    private final double originX;
+    private final double originY;
+    private final int cols;
+    private final int rows;
+    private final int[][] cells;
+    private final int[] cellCounts;
+    private int[] stamps = new int[16];
+    private int stamp;
+    private int[] results = new int[16];
+    private int resultCount;
+
+    public UniformGrid(double minX, double minY, double maxX, double maxY, double cellSize) {
+        this.cellSize = cellSize;
+        this.originX = minX;
+        this.originY = minY;
+        this.cols = Math.max(1, (int) Math.ceil((maxX - minX) / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil((maxY - minY) / cellSize));
+        this.cells = new int[cols * rows][];
+        this.cellCounts = new int[cols * rows];
+    }
+
+    // Gives every cell room for perCell entries and ids up to maxId up front, so entries that move
+    // around later never grow a cell (or the stamp array) mid-step.
+    public void reserve(int maxId, int perCell) {
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] == null || cells[cell].length < perCell) {
+                int[] ids = new int[Math.max(4, perCell)];
+                if (cells[cell] != null) {
+                    System.arraycopy(cells[cell], 0, ids, 0, cellCounts[cell]);
+                }
+                cells[cell] = ids;
+            }
+        }
+        if (maxId >= stamps.length) {
+            stamps = Arrays.copyOf(stamps, maxId + 1);
+        }
+        if (maxId >= results.length) {
+            results = Arrays.copyOf(results, maxId + 1);
+        }
+    }
+
+    public void insert(int id, double x, double y, double w, double h) {
+        int minCol = clampCol(x);
+        int maxCol = clampCol(x + w);
+        int minRow = clampRow(y);
+        int maxRow = clampRow(y + h);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                add(row * cols + col, id);
+            }
+        }
+        if (id >= stamps.length) {
+            stamps = Arrays.copyOf(stamps, Math.max(id + 1, stamps.length * 2));
+        }
+    }
+
+    public int query(double x, double y, double w, double h) {
+        resultCount = 0;
+        if (x + w < originX || y + h < originY || x > originX + cols * cellSize || y > originY + rows * cellSize) {
+            return 0;
+        }
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+        int minCol = clampCol(x);
+        int maxCol = clampCol(x + w);
+        int minRow = clampRow(y);
+        int maxRow = clampRow(y + h);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int cell = row * cols + col;
+                int[] ids = cells[cell];
+                int count = cellCounts[cell];
+                for (int i = 0; i < count; i++) {
+                    int id = ids[i];
+                    if (stamps[id] != stamp) {
+                        stamps[id] = stamp;
+                        if (resultCount == results.length) {
+                            results = Arrays.copyOf(results, results.length * 2);
+                        }
+                        results[resultCount++] = id;
+                    }
+                }
+            }
+        }
+        return resultCount;
+    }
+
+    public int getResult(int index) {
+        return results[index];
+    }
+
+    public int getResultCount() {
+        return resultCount;
+    }
+
+    // Moves an entry only when its cell range changed; most moves stay within the same cells.
+    public void move(int id, double oldX, double oldY, double newX, double newY, double w, double h) {
+        if (clampCol(oldX) == clampCol(newX) && clampCol(oldX + w) == clampCol(newX + w)
+                && clampRow(oldY) == clampRow(newY) && clampRow(oldY + h) == clampRow(newY + h)) {
+            return;
+        }
+        remove(id, oldX, oldY, w, h);
+        insert(id, newX, newY, w, h);
+    }
+
+    public void remove(int id, double x, double y, double w, double h) {
+        int minCol = clampCol(x);
+        int maxCol = clampCol(x + w);
+        int minRow = clampRow(y);
+        int maxRow = clampRow(y + h);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int cell = row * cols + col;
+                int[] ids = cells[cell];
+                int count = cellCounts[cell];
+                for (int i = 0; i < count; i++) {
+                    if (ids[i] == id) {
+                        ids[i] = ids[count - 1];
+                        cellCounts[cell] = count - 1;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(cellCounts, 0);
+    }
+
+    private void add(int cell, int id) {
+        int[] ids = cells[cell];
+        if (ids == null) {
+            ids = new int[4];
+            cells[cell] = ids;
+        } else if (cellCounts[cell] == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            cells[cell] = ids;
+        }
+        ids[cellCounts[cell]++] = id;
+    }
+
+    private int clampCol(double x) {
+        int col = (int) Math.floor((x - originX) / cellSize);
+        return Math.max(0, Math.min(cols - 1, col));
+    }
+
+    private int clampRow(double y) {
+        int row = (int) Math.floor((y - originY) / cellSize);
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+}
@@ -0,0 +1,256 @@
+import java.util.Arrays;
+import java.util.List;
+
+public class WorldChunks {
+    public static final double CHUNK_SIZE = 512;
+    private static final double KILL_PADDING = 500;
+    public static final int VIEW_WIDTH = WorldSimulation.WORLD_WIDTH;
+    public static final int VIEW_HEIGHT = WorldSimulation.WORLD_HEIGHT;
+    // Each player keeps the screen their camera shows plus one chunk around it simulated, so
+    // nothing they can see or reach before the next tick is frozen.
+    private static final double ACTIVE_REACH_X = VIEW_WIDTH / 2.0 + CHUNK_SIZE;
+    private static final double ACTIVE_REACH_Y = VIEW_HEIGHT / 2.0 + CHUNK_SIZE;
+    private static final int WINDOW_SIZE = 8;
+
+    private final int width;
+    private final int height;
+    private final int cols;
+    private final int rows;
+    private final boolean[] active;
+    private final int[] moverCells;
+    private final boolean[] moverActive;
+    private final int[] activeMovers;
+    private int activeMoverCount;
+    private final int[] activated;
+    private int activatedCount;
+    private final int[] window = new int[WINDOW_SIZE];
+    private final int[] nextWindow = new int[WINDOW_SIZE];
+    private final UniformGrid platformGrid;
+    private final UniformGrid spikeGrid;
+    private final UniformGrid moverGrid;
+    private int[] results = new int[16];
+    private int resultCount;
+
+    public WorldChunks(int width, int height, List<Platform> platforms, List<MovingPlatform> movers, List<Spike> spikes) {
+        this.width = width;
+        this.height = height;
+        cols = Math.max(1, (int) Math.ceil(width / CHUNK_SIZE));
+        rows = Math.max(1, (int) Math.ceil(height / CHUNK_SIZE));
+        active = new boolean[cols * rows];
+        moverCells = new int[movers.size() * 4];
+        moverActive = new boolean[movers.size()];
+        activeMovers = new int[movers.size()];
+        activated = new int[movers.size()];
+        platformGrid = new UniformGrid(0, 0, cols * CHUNK_SIZE, rows * CHUNK_SIZE, CHUNK_SIZE);
+        spikeGrid = new UniformGrid(0, 0, cols * CHUNK_SIZE, rows * CHUNK_SIZE, CHUNK_SIZE);
+        moverGrid = new UniformGrid(0, 0, cols * CHUNK_SIZE, rows * CHUNK_SIZE, CHUNK_SIZE);
+        for (int i = 0; i < platforms.size(); i++) {
+            Platform p = platforms.get(i);
+            platformGrid.insert(i, p.getX(), p.getY(), p.getWidth(), p.getHeight());
+        }
+        for (int i = 0; i < spikes.size(); i++) {
+            Spike s = spikes.get(i);
+            spikeGrid.insert(i, s.getX(), s.getY(), s.getWidth(), s.getHeight());
+        }
+        // Movers are filed under every chunk their whole path crosses, so a mover is live as soon as
+        // any part of its route is.
+        for (int i = 0; i < movers.size(); i++) {
+            MovingPlatform m = movers.get(i);
+            double minX = Math.min(m.getStartX(), m.getEndX());
+            double minY = Math.min(m.getStartY(), m.getEndY());
+            double maxX = Math.max(m.getStartX(), m.getEndX()) + m.getWidth();
+            double maxY = Math.max(m.getStartY(), m.getEndY()) + m.getHeight();
+            moverGrid.insert(i, minX, minY, maxX - minX, maxY - minY);
+            moverCells[i * 4] = col(minX);
+            moverCells[i * 4 + 1] = row(minY);
+            moverCells[i * 4 + 2] = col(maxX);
+            moverCells[i * 4 + 3] = row(maxY);
+        }
+        Arrays.fill(window, -1);
+    }
+
+    // Recomputes the live chunks only when either player's window moved into a different chunk
+    // range. Movers that just came alive are listed in getActivated() so the caller can catch
+    // them up; everything else keeps its frozen state.
+    public boolean update(double px, double py, boolean partnerActive, double qx, double qy) {
+        activatedCount = 0;
+        fillWindow(nextWindow, px, py, partnerActive, qx, qy);
+        if (Arrays.equals(window, nextWindow)) {
+            return false;
+        }
+        System.arraycopy(nextWindow, 0, window, 0, WINDOW_SIZE);
+        rebuild(true);
+        return true;
+    }
+
+    public void reset(double px, double py, boolean partnerActive, double qx, double qy) {
+        fillWindow(window, px, py, partnerActive, qx, qy);
+        rebuild(false);
+    }
+
+    private void fillWindow(int[] target, double px, double py, boolean partnerActive, double qx, double qy) {
+        double cx = getCameraX(px) + VIEW_WIDTH / 2.0;
+        double cy = getCameraY(py) + VIEW_HEIGHT / 2.0;
+        target[0] = col(cx - ACTIVE_REACH_X);
+        target[1] = row(cy - ACTIVE_REACH_Y);
+        target[2] = col(cx + ACTIVE_REACH_X);
+        target[3] = row(cy + ACTIVE_REACH_Y);
+        if (partnerActive) {
+            cx = getCameraX(qx) + VIEW_WIDTH / 2.0;
+            cy = getCameraY(qy) + VIEW_HEIGHT / 2.0;
+            target[4] = col(cx - ACTIVE_REACH_X);
+            target[5] = row(cy - ACTIVE_REACH_Y);
+            target[6] = col(cx + ACTIVE_REACH_X);
+            target[7] = row(cy + ACTIVE_REACH_Y);
+        } else {
+            Arrays.fill(target, 4, WINDOW_SIZE, -1);
+        }
+    }
+
+    private void rebuild(boolean trackActivated) {
+        Arrays.fill(active, false);
+        for (int w = 0; w < WINDOW_SIZE; w += 4) {
+            if (window[w] < 0) {
+                continue;
+            }
+            for (int row = window[w + 1]; row <= window[w + 3]; row++) {
+                for (int col = window[w]; col <= window[w + 2]; col++) {
+                    active[row * cols + col] = true;
+                }
+            }
+        }
+        activatedCount = 0;
+        activeMoverCount = 0;
+        for (int i = 0; i < moverActive.length; i++) {
+            boolean live = isAnyActive(moverCells[i * 4], moverCells[i * 4 + 1], moverCells[i * 4 + 2], moverCells[i * 4 + 3]);
+            if (live) {
+                activeMovers[activeMoverCount++] = i;
+                if (trackActivated && !moverActive[i]) {
+                    activated[activatedCount++] = i;
+                }
+            }
+            moverActive[i] = live;
+        }
+    }
+
+    private boolean isAnyActive(int minCol, int minRow, int maxCol, int maxRow) {
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                if (active[row * cols + col]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public boolean isActive(double x, double y) {
+        return active[row(y) * cols + col(x)];
+    }
+
+    // The camera centres on a point but never shows anything past the level edges.
+    public double getCameraX(double focusX) {
+        return Math.max(0, Math.min(width - VIEW_WIDTH, focusX - VIEW_WIDTH / 2.0));
+    }
+
+    public double getCameraY(double focusY) {
+        return Math.max(0, Math.min(height - VIEW_HEIGHT, focusY - VIEW_HEIGHT / 2.0));
+    }
+
+    public boolean isBeyondKillPlane(double x, double y) {
+        return x < -KILL_PADDING || x > width + KILL_PADDING || y < -KILL_PADDING || y > height + KILL_PADDING;
+    }
+
+    void writeState(WorldSnapshot snapshot) {
+        for (int value : window) {
+            snapshot.putWord(value);
+        }
+    }
+
+    void readState(WorldSnapshot snapshot) {
+        for (int i = 0; i < WINDOW_SIZE; i++) {
+            window[i] = snapshot.nextInt();
+        }
+        rebuild(false);
+    }
+
+    public int getActiveMoverCount() {
+        return activeMoverCount;
+    }
+
+    public int getActiveMover(int index) {
+        return activeMovers[index];
+    }
+
+    public int getActivatedCount() {
+        return activatedCount;
+    }
+
+    public int getActivated(int index) {
+        return activated[index];
+    }
+
+    public int queryPlatforms(double x, double y, double w, double h) {
+        return collect(platformGrid, x, y, w, h);
+    }
+
+    public int querySpikes(double x, double y, double w, double h) {
+        return collect(spikeGrid, x, y, w, h);
+    }
+
+    public int queryMovers(double x, double y, double w, double h) {
+        return collect(moverGrid, x, y, w, h);
+    }
+
+    // Results come back in list order so culled drawing layers exactly like drawing everything.
+    private int collect(UniformGrid grid, double x, double y, double w, double h) {
+        resultCount = grid.query(x, y, w, h);
+        if (results.length < resultCount) {
+            results = new int[Math.max(resultCount, results.length * 2)];
+        }
+        for (int i = 0; i < resultCount; i++) {
+            int id = grid.getResult(i);
+            int j = i - 1;
+            while (j >= 0 && results[j] > id) {
+                results[j + 1] = results[j];
+                j--;
+            }
+            results[j + 1] = id;
+        }
+        return resultCount;
+    }
+
+    public int getResult(int index) {
+        return results[index];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getActiveChunkCount() {
+        int count = 0;
+        for (boolean live : active) {
+            if (live) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getChunkCount() {
+        return active.length;
+    }
+
+    private int col(double x) {
+        return Math.max(0, Math.min(cols - 1, (int) Math.floor(x / CHUNK_SIZE)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / CHUNK_SIZE)));
+    }
+}
@@ -0,0 +1,886 @@
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+public class WorldSimulation {
+    public static final double TICK_SECONDS = GameLoop.TICK_SECONDS;
+    public static final int WORLD_WIDTH = 960;
+    public static final int WORLD_HEIGHT = 540;
+    public static final int PLAYER_W = 24;
+    public static final int PLAYER_H = 38;
+    public static final double GRAVITY_COOLDOWN = 0.4;
+    private static final double FRICTION = 0.85;
+    private static final GravityDir[] DIRECTIONS = GravityDir.values();
+    public static final int BASE_PHYSICS_RATE = 60;
+    public static final int MAX_PHYSICS_RATE = 480;
+
+    public interface Listener {
+        default void onJump() {
+        }
+
+        default void onOrbCollected(int index) {
+        }
+
+        default void onAllOrbsCollected() {
+        }
+
+        default void onCheckpointReached(Checkpoint checkpoint) {
+        }
+
+        default void onRespawn(boolean fromRemote) {
+        }
+
+        default void onLevelComplete() {
+        }
+    }
+
+    private static final Listener NO_LISTENER = new Listener() {
+    };
+
+    private final Player player;
+    private final Player partner;
+    private final EnumMap<GravityDir, Point2D.Double> lastSafeGroundedPos = new EnumMap<>(GravityDir.class);
+    private Listener listener = NO_LISTENER;
+    private LevelData level;
+    private LevelInstance instance;
+    private List<Platform> platforms = new ArrayList<>();
+    private List<MovingPlatform> movers = new ArrayList<>();
+    private List<Spike> spikes = new ArrayList<>();
+    private List<Checkpoint> checkpoints = new ArrayList<>();
+    private List<FluxOrb> orbs = new ArrayList<>();
+    private List<CoopButton> buttons = new ArrayList<>();
+    private List<CoopDoor> doors = new ArrayList<>();
+    private CrateSystem crates = new CrateSystem(new ArrayList<>());
+    private GeometryStore geometry = new GeometryStore(platforms, movers, doors, spikes, buttons, crates);
+    private WorldChunks chunks = new WorldChunks(WORLD_WIDTH, WORLD_HEIGHT, platforms, movers, spikes);
+    private PlatformIndex platformIndex = new PlatformIndex(geometry, chunks);
+    private LogicGraph logic = new LogicGraph(0, new ArrayList<>(), doors);
+    private long[] buttonTouchTick = new long[0];
+    private int[] pressedButtons = new int[0];
+    private int pressedButtonCount;
+    private ExitGate exitGate = new ExitGate(0, 0, 0, 0);
+    private ObjectiveManager objectiveManager = new ObjectiveManager(orbs, exitGate, 0);
+    private TriggerIndex triggers = new TriggerIndex(geometry, orbs, checkpoints, exitGate);
+    private List<GravityZone> zones = new ArrayList<>();
+    private GravityZoneIndex gravityZones = new GravityZoneIndex(zones);
+    private GravityDir gravityDir = GravityDir.DOWN;
+    private GravityDir partnerGravity = GravityDir.DOWN;
+    private GravityDir chosenGravity = GravityDir.DOWN;
+    private final Point2D.Double respawnPosition = new Point2D.Double();
+    private GravityDir respawnGravity = GravityDir.DOWN;
+    private boolean partnerActive;
+    private boolean jumpHeld;
+    private boolean gravityLocked;
+    private boolean quickRecoverArmed;
+    private boolean gateUnlockAnnounced;
+    private boolean levelComplete;
+    private double gravityCooldownRemaining;
+    private double jumpBufferTimer;
+    private double coyoteTimer;
+    private int deathCount;
+    private long localOrbMask;
+    private long remoteOrbMask;
+    private long tickCount;
+    private long stateHash;
+    private int substeps = 1;
+    private int activeSubsteps = 1;
+    private long substepBudgetNanos;
+    private int underBudgetTicks;
+
+    public WorldSimulation() {
+        player = new Player(0, 0, PLAYER_W, PLAYER_H);
+        partner = new Player(0, 0, PLAYER_W, PLAYER_H);
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener != null ? listener : NO_LISTENER;
+    }
+
+    public void loadLevel(LevelData data) {
+        if (data == null) {
+            return;
+        }
+        level = data;
+        instance = new LevelInstance(data);
+        platforms = instance.getPlatforms();
+        movers = instance.getMovers();
+        spikes = instance.getSpikes();
+        checkpoints = instance.getCheckpoints();
+        orbs = instance.getOrbs();
+        buttons = instance.getButtons();
+        doors = instance.getDoors();
+        exitGate = instance.getExitGate();
+        crates = instance.getCrates();
+        geometry = new GeometryStore(platforms, movers, doors, spikes, buttons, crates);
+        chunks = new WorldChunks(data.getWidth(), data.getHeight(), platforms, movers, spikes);
+        platformIndex = new PlatformIndex(geometry, chunks);
+        crates.attach(geometry, platformIndex);
+        objectiveManager = new ObjectiveManager(orbs, exitGate, data.getParTimeSeconds());
+        objectiveManager.resetTimer();
+        triggers = new TriggerIndex(geometry, orbs, checkpoints, exitGate);
+        zones = data.getGravityZones();
+        gravityZones = new GravityZoneIndex(zones);
+        buttonTouchTick = new long[buttons.size()];
+        pressedButtons = new int[buttons.size()];
+        pressedButtonCount = 0;
+        logic = new LogicGraph(buttons.size(), data.getLogicNodes(), doors);
+        applyDoorStates();
+        Point2D.Double spawn = data.getSpawnPosition();
+        Point2D.Double partnerSpawn = data.getPartnerSpawnPosition();
+        player.setPosition(spawn.x, spawn.y);
+        player.resetVelocity();
+        partner.setPosition(partnerSpawn.x, partnerSpawn.y);
+        partner.resetVelocity();
+        gravityDir = data.getSpawnGravity();
+        chosenGravity = gravityDir;
+        partnerGravity = data.getSpawnGravity();
+        respawnPosition.setLocation(spawn.x, spawn.y);
+        respawnGravity = gravityDir;
+        deathCount = 0;
+        localOrbMask = 0;
+        remoteOrbMask = 0;
+        gateUnlockAnnounced = false;
+        levelComplete = false;
+        lastSafeGroundedPos.clear();
+        for (GravityDir dir : DIRECTIONS) {
+            lastSafeGroundedPos.put(dir, new Point2D.Double(spawn.x, spawn.y));
+        }
+        gravityCooldownRemaining = 0;
+        jumpBufferTimer = 0;
+        coyoteTimer = 0;
+        jumpHeld = false;
+        quickRecoverArmed = false;
+        tickCount = 0;
+        applyGravityZone();
+        chunks.reset(player.getX(), player.getY(), partnerActive, partner.getX(), partner.getY());
+        stateHash = computeStateHash();
+    }
+
+    public void step(InputFrame input) {
+        if (level == null || levelComplete) {
+            return;
+        }
+        double dt = TICK_SECONDS;
+        updateActiveChunks();
+        tickCount++;
+        player.beginTick();
+        updateTimers(dt);
+        if (input.getGravityRequest() != null) {
+            changeGravity(input.getGravityRequest());
+        }
+        applyGravityZone();
+        applyInput(input);
+        integrate(dt, input.isLeft() == input.isRight() ? 0 : (input.isRight() ? 1 : -1));
+        if (crates.getCount() > 0) {
+            wakeCratesNearMovers();
+            crates.update(chosenGravity, gravityZones, chunks, geometry, platformIndex, movers, player);
+        }
+        if (player.isGrounded()) {
+            lastSafeGroundedPos.get(gravityDir).setLocation(player.getX(), player.getY());
+        }
+        boolean spikeTouched = false;
+        boolean exitTouched = false;
+        int hits = triggers.query(player.getX(), player.getY(), player.getWidth(), player.getHeight());
+        for (int i = 0; i < hits; i++) {
+            int ref = triggers.getHitRef(i);
+            switch (triggers.getHitType(i)) {
+                case TriggerIndex.BUTTON:
+                    touchButton(ref);
+                    break;
+                case TriggerIndex.ORB:
+                    collectOrb(ref, true);
+                    break;
+                case TriggerIndex.CHECKPOINT:
+                    reachCheckpoint(ref);
+                    break;
+                case TriggerIndex.SPIKE:
+                    spikeTouched = true;
+                    break;
+                case TriggerIndex.EXIT:
+                    exitTouched = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (partnerActive) {
+            hits = triggers.query(partner.getX(), partner.getY(), partner.getWidth(), partner.getHeight());
+            for (int i = 0; i < hits; i++) {
+                int ref = triggers.getHitRef(i);
+                if (triggers.getHitType(i) == TriggerIndex.BUTTON) {
+                    touchButton(ref);
+                } else if (triggers.getHitType(i) == TriggerIndex.ORB) {
+                    collectOrb(ref, false);
+                }
+            }
+        }
+        pressButtonsUnderCrates();
+        updateCoopButtons();
+        if (objectiveManager.allOrbsCollected() && !gateUnlockAnnounced) {
+            gateUnlockAnnounced = true;
+            listener.onAllOrbsCollected();
+        }
+        if (isOutOfBounds() || spikeTouched) {
+            respawn(false);
+            exitTouched = false;
+        }
+        objectiveManager.update(dt);
+        if (exitTouched && exitGate.isUnlocked()) {
+            levelComplete = true;
+            listener.onLevelComplete();
+        }
+        stateHash = computeStateHash();
+    }
+
+    public void saveSnapshot(WorldSnapshot snapshot) {
+        snapshot.begin(level);
+        if (level == null) {
+            return;
+        }
+        player.writeState(snapshot);
+        partner.writeState(snapshot);
+        snapshot.putWord(gravityDir.ordinal());
+        snapshot.putWord(partnerGravity.ordinal());
+        snapshot.putWord(respawnGravity.ordinal());
+        snapshot.putWord(chosenGravity.ordinal());
+        snapshot.putReal(respawnPosition.x);
+        snapshot.putReal(respawnPosition.y);
+        for (GravityDir dir : DIRECTIONS) {
+            Point2D.Double safe = lastSafeGroundedPos.get(dir);
+            snapshot.putReal(safe.x);
+            snapshot.putReal(safe.y);
+        }
+        snapshot.putReal(gravityCooldownRemaining);
+        snapshot.putReal(jumpBufferTimer);
+        snapshot.putReal(coyoteTimer);
+        snapshot.putFlag(jumpHeld);
+        snapshot.putFlag(quickRecoverArmed);
+        snapshot.putFlag(gateUnlockAnnounced);
+        snapshot.putFlag(levelComplete);
+        snapshot.putWord(deathCount);
+        snapshot.putWord(localOrbMask);
+        snapshot.putWord(remoteOrbMask);
+        snapshot.putWord(tickCount);
+        for (int i = 0; i < movers.size(); i++) {
+            movers.get(i).writeState(snapshot);
+        }
+        chunks.writeState(snapshot);
+        for (int i = 0; i < buttons.size(); i++) {
+            snapshot.putFlag(buttons.get(i).isPressed());
+            snapshot.putWord(buttonTouchTick[i]);
+        }
+        snapshot.putWord(pressedButtonCount);
+        for (int pressed : pressedButtons) {
+            snapshot.putWord(pressed);
+        }
+        for (int i = 0; i < checkpoints.size(); i++) {
+            snapshot.putFlag(checkpoints.get(i).isActivated());
+        }
+        logic.writeState(snapshot);
+        objectiveManager.writeState(snapshot);
+        crates.writeState(snapshot);
+    }
+
+    public boolean restoreSnapshot(WorldSnapshot snapshot) {
+        if (snapshot.isEmpty() || snapshot.getLevel() != level) {
+            return false;
+        }
+        snapshot.rewind();
+        player.readState(snapshot);
+        partner.readState(snapshot);
+        gravityDir = DIRECTIONS[snapshot.nextInt()];
+        partnerGravity = DIRECTIONS[snapshot.nextInt()];
+        respawnGravity = DIRECTIONS[snapshot.nextInt()];
+        chosenGravity = DIRECTIONS[snapshot.nextInt()];
+        respawnPosition.x = snapshot.nextReal();
+        respawnPosition.y = snapshot.nextReal();
+        for (GravityDir dir : DIRECTIONS) {
+            Point2D.Double safe = lastSafeGroundedPos.get(dir);
+            safe.x = snapshot.nextReal();
+            safe.y = snapshot.nextReal();
+        }
+        gravityCooldownRemaining = snapshot.nextReal();
+        jumpBufferTimer = snapshot.nextReal();
+        coyoteTimer = snapshot.nextReal();
+        jumpHeld = snapshot.nextFlag();
+        quickRecoverArmed = snapshot.nextFlag();
+        gateUnlockAnnounced = snapshot.nextFlag();
+        levelComplete = snapshot.nextFlag();
+        deathCount = snapshot.nextInt();
+        localOrbMask = snapshot.nextWord();
+        remoteOrbMask = snapshot.nextWord();
+        tickCount = snapshot.nextWord();
+        for (int i = 0; i < movers.size(); i++) {
+            movers.get(i).readState(snapshot);
+        }
+        geometry.syncMovers(movers);
+        chunks.readState(snapshot);
+        for (int i = 0; i < buttons.size(); i++) {
+            buttons.get(i).setPressed(snapshot.nextFlag());
+            buttonTouchTick[i] = snapshot.nextWord();
+        }
+        pressedButtonCount = snapshot.nextInt();
+        for (int i = 0; i < pressedButtons.length; i++) {
+            pressedButtons[i] = snapshot.nextInt();
+        }
+        for (int i = 0; i < checkpoints.size(); i++) {
+            checkpoints.get(i).setActivated(snapshot.nextFlag());
+        }
+        logic.readState(snapshot);
+        logic.consumeOutputsChanged();
+        applyDoorStates();
+        objectiveManager.readState(snapshot);
+        crates.readState(snapshot);
+        crates.attach(geometry, platformIndex);
+        stateHash = computeStateHash();
+        return true;
+    }
+
+    // Mixes the raw bits of everything step() reads back on the next tick, in a fixed order.
+    public long computeStateHash() {
+        long hash = 0xCBF29CE484222325L;
+        hash = mix(hash, tickCount);
+        hash = mixPlayer(hash, player);
+        hash = mixPlayer(hash, partner);
+        hash = mix(hash, gravityDir.ordinal());
+        hash = mix(hash, partnerGravity.ordinal());
+        hash = mix(hash, respawnGravity.ordinal());
+        hash = mix(hash, respawnPosition.x);
+        hash = mix(hash, respawnPosition.y);
+        hash = mix(hash, gravityCooldownRemaining);
+        hash = mix(hash, jumpBufferTimer);
+        hash = mix(hash, coyoteTimer);
+        hash = mix(hash, (jumpHeld ? 1 : 0) | (quickRecoverArmed ? 4 : 0)
+                | (partnerActive ? 8 : 0) | (gateUnlockAnnounced ? 16 : 0) | (levelComplete ? 32 : 0)
+                | (exitGate.isUnlocked() ? 64 : 0));
+        hash = mix(hash, deathCount);
+        hash = mix(hash, localOrbMask);
+        hash = mix(hash, remoteOrbMask);
+        hash = mix(hash, objectiveManager.getCollectedCount());
+        hash = mix(hash, objectiveManager.getElapsedTime());
+        for (int i = 0; i < chunks.getActiveMoverCount(); i++) {
+            MovingPlatform mover = movers.get(chunks.getActiveMover(i));
+            hash = mix(hash, mover.getTime());
+            hash = mix(hash, mover.getX());
+            hash = mix(hash, mover.getY());
+        }
+        for (int i = 0; i < doors.size(); i++) {
+            hash = mix(hash, doors.get(i).isOpen() ? 1 : 0);
+        }
+        for (int i = 0; i < buttons.size(); i++) {
+            hash = mix(hash, buttons.get(i).isPressed() ? 1 : 0);
+            hash = mix(hash, buttonTouchTick[i]);
+        }
+        hash = mix(hash, pressedButtonCount);
+        for (int i = 0; i < pressedButtonCount; i++) {
+            hash = mix(hash, pressedButtons[i]);
+        }
+        hash = logic.mixState(hash);
+        for (int i = 0; i < checkpoints.size(); i++) {
+            hash = mix(hash, checkpoints.get(i).isActivated() ? 1 : 0);
+        }
+        if (crates.getCount() > 0) {
+            hash = mix(hash, crates.getStateHash());
+        }
+        if (!gravityZones.isEmpty()) {
+            hash = mix(hash, chosenGravity.ordinal());
+        }
+        for (GravityDir dir : DIRECTIONS) {
+            Point2D.Double safe = lastSafeGroundedPos.get(dir);
+            hash = mix(hash, safe.x);
+            hash = mix(hash, safe.y);
+        }
+        return hash;
+    }
+
+    private static long mixPlayer(long hash, Player p) {
+        hash = mix(hash, p.getX());
+        hash = mix(hash, p.getY());
+        hash = mix(hash, p.getVelX());
+        hash = mix(hash, p.getVelY());
+        return mix(hash, p.isGrounded() ? 1 : 0);
+    }
+
+    static long mix(long hash, double value) {
+        return mix(hash, Double.doubleToLongBits(value));
+    }
+
+    static long mix(long hash, long value) {
+        return Long.rotateLeft((hash ^ value) * 0x9E3779B97F4A7C15L, 29);
+    }
+
+    private void updateTimers(double dt) {
+        if (gravityCooldownRemaining > 0) {
+            gravityCooldownRemaining = Math.max(0, gravityCooldownRemaining - dt);
+        }
+        if (jumpBufferTimer > 0) {
+            jumpBufferTimer = Math.max(0, jumpBufferTimer - dt);
+        }
+        if (coyoteTimer > 0) {
+            coyoteTimer = Math.max(0, coyoteTimer - dt);
+        }
+    }
+
+    private void applyInput(InputFrame input) {
+        double moveSpeed = input.isSprint() ? 0.9 : 0.6;
+        boolean moveLeft = input.isLeft();
+        boolean moveRight = input.isRight();
+
+        if (moveLeft && !moveRight) {
+            player.setFacingRight(false);
+        } else if (moveRight && !moveLeft) {
+            player.setFacingRight(true);
+        }
+
+        if (gravityDir.isVertical()) {
+            if (moveLeft && !moveRight) {
+                player.addVelocity(-moveSpeed, 0);
+            } else if (moveRight && !moveLeft) {
+                player.addVelocity(moveSpeed, 0);
+            } else {
+                player.applyFriction(FRICTION, gravityDir);
+            }
+        } else {
+            if (moveLeft && !moveRight) {
+                player.addVelocity(0, -moveSpeed);
+            } else if (moveRight && !moveLeft) {
+                player.addVelocity(0, moveSpeed);
+            } else {
+                player.applyFriction(FRICTION, gravityDir);
+            }
+        }
+
+        if (input.isJump() && !jumpHeld) {
+            jumpBufferTimer = 0.18;
+        }
+        if (jumpBufferTimer > 0 && (player.isGrounded() || coyoteTimer > 0)) {
+            player.jump(gravityDir);
+            listener.onJump();
+            jumpBufferTimer = 0;
+            coyoteTimer = 0;
+        }
+        jumpHeld = input.isJump();
+    }
+
+    private boolean isOutOfBounds() {
+        return chunks.isBeyondKillPlane(player.getX(), player.getY());
+    }
+
+    // A mover that was frozen outside the live chunks rejoins at the position the world clock says
+    // it should have reached, so timed routes stay in step no matter where the players have been.
+    private void updateActiveChunks() {
+        if (!chunks.update(player.getX(), player.getY(), partnerActive, partner.getX(), partner.getY())) {
+            return;
+        }
+        for (int i = 0; i < chunks.getActivatedCount(); i++) {
+            MovingPlatform mover = movers.get(chunks.getActivated(i));
+            mover.seek(tickCount * TICK_SECONDS);
+            if (crates.getCount() > 0) {
+                double minX = Math.min(mover.getStartX(), mover.getEndX());
+                double minY = Math.min(mover.getStartY(), mover.getEndY());
+                crates.wakeRegion(platformIndex, minX, minY, Math.abs(mover.getEndX() - mover.getStartX()) + mover.getWidth(),
+                        Math.abs(mover.getEndY() - mover.getStartY()) + mover.getHeight());
+            }
+        }
+    }
+
+    private void collectOrb(int index, boolean localPlayer) {
+        if (!objectiveManager.onOrbCollected(index)) {
+            return;
+        }
+        long bit = index < 64 ? 1L << index : 0;
+        if (localPlayer) {
+            localOrbMask |= bit;
+            listener.onOrbCollected(index);
+        } else {
+            remoteOrbMask |= bit;
+        }
+    }
+
+    private void touchButton(int index) {
+        buttonTouchTick[index] = tickCount;
+        CoopButton button = buttons.get(index);
+        if (!button.isPressed()) {
+            button.setPressed(true);
+            pressedButtons[pressedButtonCount++] = index;
+            logic.setButton(index, true);
+        }
+    }
+
+    private void updateCoopButtons() {
+        int kept = 0;
+        for (int i = 0; i < pressedButtonCount; i++) {
+            int index = pressedButtons[i];
+            if (buttonTouchTick[index] == tickCount) {
+                pressedButtons[kept++] = index;
+            } else {
+                buttons.get(index).setPressed(false);
+                logic.setButton(index, false);
+            }
+        }
+        pressedButtonCount = kept;
+        logic.update(TICK_SECONDS);
+        if (logic.consumeOutputsChanged()) {
+            for (int i = 0; i < doors.size(); i++) {
+                CoopDoor door = doors.get(i);
+                if (logic.isDoorOpen(i) != door.isOpen()) {
+                    crates.wakeRegion(platformIndex, door.getX(), door.getY(), door.getWidth(), door.getHeight());
+                }
+            }
+            applyDoorStates();
+        }
+    }
+
+    private void applyDoorStates() {
+        int firstDoor = geometry.firstOf(GeometryStore.DOOR);
+        for (int i = 0; i < doors.size(); i++) {
+            boolean open = logic.isDoorOpen(i);
+            doors.get(i).setOpen(open);
+            geometry.setBlocking(firstDoor + i, !open);
+        }
+    }
+
+    private void reachCheckpoint(int index) {
+        Checkpoint checkpoint = checkpoints.get(index);
+        if (checkpoint.isActivated()) {
+            return;
+        }
+        checkpoint.setActivated(true);
+        respawnPosition.setLocation(checkpoint.getPosition().x, checkpoint.getPosition().y);
+        respawnGravity = gravityDir;
+        listener.onCheckpointReached(checkpoint);
+    }
+
+    public void respawn(boolean fromRemote) {
+        deathCount++;
+        quickRecoverArmed = false;
+        player.setPosition(respawnPosition.x, respawnPosition.y);
+        player.resetVelocity();
+        gravityDir = respawnGravity;
+        if (chosenGravity != respawnGravity) {
+            chosenGravity = respawnGravity;
+            crates.wakeAll();
+        }
+        applyGravityZone();
+        listener.onRespawn(fromRemote);
+    }
+
+    private void integrate(double dt, int pushDir) {
+        int count = activeSubsteps;
+        boolean budgeted = substepBudgetNanos > 0 && substeps > 1;
+        long start = budgeted ? System.nanoTime() : 0;
+        double fraction = 1.0 / count;
+        for (int i = 0; i < chunks.getActiveMoverCount(); i++) {
+            movers.get(chunks.getActiveMover(i)).beginTick();
+        }
+        for (int i = 0; i < count; i++) {
+            updateMovingPlatforms(dt * fraction);
+            int candidates = queryNearbyPlatforms();
+            player.applyPhysics(geometry, platformIndex.getResults(), candidates, gravityDir, fraction);
+            updateGroundedState();
+            if (pushDir != 0) {
+                pushCrates(pushDir);
+            }
+        }
+        if (budgeted) {
+            adjustSubsteps(System.nanoTime() - start);
+        }
+    }
+
+    // Overrunning the budget halves the sub-steps straight away; they only climb back one
+    // doubling at a time after a second of ticks that came in well under it.
+    private void adjustSubsteps(long elapsedNanos) {
+        if (elapsedNanos > substepBudgetNanos) {
+            activeSubsteps = Math.max(1, activeSubsteps / 2);
+            underBudgetTicks = 0;
+        } else if (activeSubsteps < substeps && elapsedNanos * 4 < substepBudgetNanos) {
+            if (++underBudgetTicks >= BASE_PHYSICS_RATE) {
+                activeSubsteps = Math.min(substeps, activeSubsteps * 2);
+                underBudgetTicks = 0;
+            }
+        } else {
+            underBudgetTicks = 0;
+        }
+    }
+
+    // Contacts are cleared every sub-step, so pushes are picked up right after each one.
+    private void pushCrates(int dir) {
+        ContactSet contacts = player.getContacts();
+        for (int i = 0; i < contacts.getCount(); i++) {
+            int id = contacts.getId(i);
+            if (geometry.getType(id) != GeometryStore.CRATE) {
+                continue;
+            }
+            if (gravityDir.isVertical() ? contacts.getNormalX(i) == -dir : contacts.getNormalY(i) == -dir) {
+                crates.push(id, gravityDir.isVertical() ? dir : 0, gravityDir.isVertical() ? 0 : dir);
+            }
+        }
+    }
+
+    private void wakeCratesNearMovers() {
+        for (int i = 0; i < chunks.getActiveMoverCount(); i++) {
+            MovingPlatform mover = movers.get(chunks.getActiveMover(i));
+            double dx = Math.abs(mover.getTickDeltaX());
+            double dy = Math.abs(mover.getTickDeltaY());
+            if (dx != 0 || dy != 0) {
+                crates.wakeRegion(platformIndex, mover.getX() - dx, mover.getY() - dy,
+                        mover.getWidth() + dx * 2, mover.getHeight() + dy * 2);
+            }
+        }
+    }
+
+    private void pressButtonsUnderCrates() {
+        if (crates.getCount() == 0) {
+            return;
+        }
+        for (int i = 0; i < buttons.size(); i++) {
+            CoopButton button = buttons.get(i);
+            if (platformIndex.queryCrates(button.getX() - 1, button.getY() - 1, button.getWidth() + 2, button.getHeight() + 2) > 0) {
+                touchButton(i);
+            }
+        }
+    }
+
+    private void updateMovingPlatforms(double dt) {
+        for (int i = 0; i < chunks.getActiveMoverCount(); i++) {
+            movers.get(chunks.getActiveMover(i)).update(dt);
+        }
+    }
+
+    private int queryNearbyPlatforms() {
+        for (int i = 0; i < chunks.getActiveMoverCount(); i++) {
+            int index = chunks.getActiveMover(i);
+            geometry.syncMover(index, movers.get(index));
+        }
+        double reach = Player.MAX_STEP + 1;
+        return platformIndex.query(player.getX() - reach, player.getY() - reach,
+                player.getWidth() + reach * 2, player.getHeight() + reach * 2, true);
+    }
+
+    private boolean collidesWithPlatform(double px, double py) {
+        return platformIndex.query(px, py, player.getWidth(), player.getHeight(), false) > 0;
+    }
+
+    private void updateGroundedState() {
+        ContactSet contacts = player.getContacts();
+        int support = contacts.findSupport(gravityDir);
+        if (support >= 0) {
+            coyoteTimer = 0.16;
+            quickRecoverArmed = true;
+            player.translate(contacts.getDeltaX(support), contacts.getDeltaY(support));
+        }
+    }
+
+    private void changeGravity(GravityDir newDir) {
+        if (gravityLocked || gravityDir == newDir || gravityCooldownRemaining > 0) {
+            return;
+        }
+        int zone = gravityZones.find(player.getX() + player.getWidth() / 2.0, player.getY() + player.getHeight() / 2.0);
+        if (zone >= 0 && !gravityZones.get(zone).allows(newDir)) {
+            return;
+        }
+
+        GravityDir previousDir = gravityDir;
+        double previousX = player.getX();
+        double previousY = player.getY();
+        gravityDir = newDir;
+        player.resetVelocity();
+
+        boolean reverted = false;
+        if (collidesWithPlatform(player.getX(), player.getY())) {
+            Point2D.Double safePos = lastSafeGroundedPos.getOrDefault(newDir, respawnPosition);
+            player.setPosition(safePos.x, safePos.y);
+            if (collidesWithPlatform(player.getX(), player.getY())) {
+                gravityDir = previousDir;
+                player.setPosition(previousX, previousY);
+                reverted = true;
+            }
+        }
+
+        if (!reverted && gravityDir == newDir) {
+            gravityCooldownRemaining = GRAVITY_COOLDOWN;
+            chosenGravity = newDir;
+            crates.wakeAll();
+        }
+    }
+
+    // Zones bend the player's chosen gravity while they stand in them; leaving a zone hands
+    // control back to the last direction the player picked.
+    private void applyGravityZone() {
+        if (gravityZones.isEmpty()) {
+            return;
+        }
+        GravityDir target = gravityZones.resolve(player.getX() + player.getWidth() / 2.0,
+                player.getY() + player.getHeight() / 2.0, chosenGravity);
+        if (target != gravityDir) {
+            gravityDir = target;
+            player.resetVelocity();
+        }
+    }
+
+    public boolean recoverToLastSafe() {
+        Point2D.Double safe = lastSafeGroundedPos.get(gravityDir);
+        if (safe == null || !quickRecoverArmed) {
+            return false;
+        }
+        player.setPosition(safe.x, safe.y);
+        player.resetVelocity();
+        quickRecoverArmed = false;
+        return true;
+    }
+
+    public void setPartnerState(double x, double y, double velX, double velY, GravityDir gravity) {
+        partner.setVelocity(velX, velY);
+        partner.setPosition(x, y);
+        partnerGravity = gravity;
+    }
+
+    public void setPartnerActive(boolean partnerActive) {
+        this.partnerActive = partnerActive;
+    }
+
+    public void setRemoteOrbMask(long remoteOrbMask) {
+        long added = remoteOrbMask & ~this.remoteOrbMask;
+        this.remoteOrbMask = remoteOrbMask;
+        while (added != 0) {
+            objectiveManager.onOrbCollected(Long.numberOfTrailingZeros(added));
+            added &= added - 1;
+        }
+    }
+
+    // A player preference rather than world state: it stays out of snapshots and the state hash, so
+    // restarts, practice loads and rewinds leave it as the player set it.
+    public boolean toggleGravityLock() {
+        gravityLocked = !gravityLocked;
+        return gravityLocked;
+    }
+
+    public LevelData getLevel() {
+        return level;
+    }
+
+    public LevelInstance getInstance() {
+        return instance;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Player getPartner() {
+        return partner;
+    }
+
+    public List<Platform> getPlatforms() {
+        return platforms;
+    }
+
+    public List<MovingPlatform> getMovers() {
+        return movers;
+    }
+
+    public List<Spike> getSpikes() {
+        return spikes;
+    }
+
+    public List<Checkpoint> getCheckpoints() {
+        return checkpoints;
+    }
+
+    public List<FluxOrb> getOrbs() {
+        return orbs;
+    }
+
+    public List<CoopButton> getButtons() {
+        return buttons;
+    }
+
+    public List<GravityZone> getGravityZones() {
+        return zones;
+    }
+
+    public WorldChunks getChunks() {
+        return chunks;
+    }
+
+    public CrateSystem getCrates() {
+        return crates;
+    }
+
+    public List<CoopDoor> getDoors() {
+        return doors;
+    }
+
+    public ExitGate getExitGate() {
+        return exitGate;
+    }
+
+    public ObjectiveManager getObjectiveManager() {
+        return objectiveManager;
+    }
+
+    public GravityDir getGravityDir() {
+        return gravityDir;
+    }
+
+    public GravityDir getPartnerGravity() {
+        return partnerGravity;
+    }
+
+    public Point2D.Double getRespawnPosition() {
+        return respawnPosition;
+    }
+
+    public double getGravityCooldownRemaining() {
+        return gravityCooldownRemaining;
+    }
+
+    public int getDeathCount() {
+        return deathCount;
+    }
+
+    public long getLocalOrbMask() {
+        return localOrbMask;
+    }
+
+    public boolean isQuickRecoverArmed() {
+        return quickRecoverArmed;
+    }
+
+    public boolean isLevelComplete() {
+        return levelComplete;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public void setPhysicsRate(int hz) {
+        int clamped = Math.max(BASE_PHYSICS_RATE, Math.min(MAX_PHYSICS_RATE, hz));
+        substeps = Integer.highestOneBit(clamped / BASE_PHYSICS_RATE);
+        activeSubsteps = substeps;
+        underBudgetTicks = 0;
+    }
+
+    // A budget of zero keeps the configured rate fixed, which replays and the batch runner rely on.
+    public void setSubstepBudgetNanos(long budgetNanos) {
+        substepBudgetNanos = Math.max(0, budgetNanos);
+        if (substepBudgetNanos == 0) {
+            activeSubsteps = substeps;
+        }
+        underBudgetTicks = 0;
+    }
+
+    public int getPhysicsRate() {
+        return substeps * BASE_PHYSICS_RATE;
+    }
+
+    public int getActiveSubsteps() {
+        return activeSubsteps;
+    }
+
+    public long getStateHash() {
+        return stateHash;
+    }
+}
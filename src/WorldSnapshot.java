@@ -0,0 +1,112 @@
+import java.util.Arrays;
+
+public class WorldSnapshot {
+    private LevelData level;
+    private double[] reals = new double[64];
+    private long[] words = new long[16];
+    private int realCount;
+    private int wordCount;
+    private int realCursor;
+    private int wordCursor;
+
+    // Values are written and read back in the same order by each subsystem, so the layout needs
+    // no tags. Buffers only grow while the first snapshot of a level is taken.
+    void begin(LevelData level) {
+        this.level = level;
+        realCount = 0;
+        wordCount = 0;
+    }
+
+    void rewind() {
+        realCursor = 0;
+        wordCursor = 0;
+    }
+
+    void putReal(double value) {
+        if (realCount == reals.length) {
+            reals = Arrays.copyOf(reals, reals.length * 2);
+        }
+        reals[realCount++] = value;
+    }
+
+    void putWord(long value) {
+        if (wordCount == words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        words[wordCount++] = value;
+    }
+
+    void putFlag(boolean value) {
+        putWord(value ? 1 : 0);
+    }
+
+    double nextReal() {
+        return reals[realCursor++];
+    }
+
+    long nextWord() {
+        return words[wordCursor++];
+    }
+
+    int nextInt() {
+        return (int) words[wordCursor++];
+    }
+
+    boolean nextFlag() {
+        return words[wordCursor++] != 0;
+    }
+
+    public void copyFrom(WorldSnapshot other) {
+        if (reals.length < other.realCount) {
+            reals = new double[other.reals.length];
+        }
+        if (words.length < other.wordCount) {
+            words = new long[other.words.length];
+        }
+        System.arraycopy(other.reals, 0, reals, 0, other.realCount);
+        System.arraycopy(other.words, 0, words, 0, other.wordCount);
+        level = other.level;
+        realCount = other.realCount;
+        wordCount = other.wordCount;
+    }
+
+    void writeTo(double[] realsOut, int realOffset, long[] wordsOut, int wordOffset) {
+        System.arraycopy(reals, 0, realsOut, realOffset, realCount);
+        System.arraycopy(words, 0, wordsOut, wordOffset, wordCount);
+    }
+
+    void readFrom(LevelData level, double[] realsIn, int realOffset, int realLength,
+                  long[] wordsIn, int wordOffset, int wordLength) {
+        begin(level);
+        if (reals.length < realLength) {
+            reals = new double[realLength];
+        }
+        if (words.length < wordLength) {
+            words = new long[wordLength];
+        }
+        System.arraycopy(realsIn, realOffset, reals, 0, realLength);
+        System.arraycopy(wordsIn, wordOffset, words, 0, wordLength);
+        realCount = realLength;
+        wordCount = wordLength;
+    }
+
+    public boolean isEmpty() {
+        return level == null;
+    }
+
+    public void clear() {
+        begin(null);
+    }
+
+    public LevelData getLevel() {
+        return level;
+    }
+
+    public int getRealCount() {
+        return realCount;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+}
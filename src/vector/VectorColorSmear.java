@@ -0,0 +1,76 @@
+import java.awt.Color;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Built separately (see README) because jdk.incubator.vector is not resolved by default;
+// ColorSmear.create() picks it up when present.
+public class VectorColorSmear extends ColorSmear {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int[] SHIFTS = {16, 8, 0};
+
+    private final int[] coolAdd = new int[3];
+    private final int[] warmAdd = new int[3];
+    private final int coolTintKeep;
+    private final int warmTintKeep;
+
+    public VectorColorSmear(Color cool, Color warm) {
+        super(cool, warm);
+        int[] coolChannels = {cool.getRed(), cool.getGreen(), cool.getBlue()};
+        int[] warmChannels = {warm.getRed(), warm.getGreen(), warm.getBlue()};
+        for (int ch = 0; ch < 3; ch++) {
+            coolAdd[ch] = mul8(cool.getAlpha(), coolChannels[ch]);
+            warmAdd[ch] = mul8(warm.getAlpha(), warmChannels[ch]);
+        }
+        coolTintKeep = 255 - cool.getAlpha();
+        warmTintKeep = 255 - warm.getAlpha();
+    }
+
+    // The lookup tables become lane arithmetic: the same 8-bit multiply, so the output is identical
+    // to the scalar kernel. Columns where a tap falls off the frame stay scalar.
+    @Override
+    protected void applyRow(int[] src, int[] dst, int width, int row, int warmRow, boolean warmInside) {
+        int offset = getOffsetX();
+        int from = offset;
+        int to = width - offset;
+        if (!warmInside || to - from < SPECIES.length()) {
+            applySpan(src, dst, width, row, warmRow, warmInside, 0, width);
+            return;
+        }
+        applySpan(src, dst, width, row, warmRow, true, 0, from);
+        int coolAlpha = getCoolAlpha();
+        int warmAlpha = getWarmAlpha();
+        int x = from;
+        for (int bound = from + SPECIES.loopBound(to - from); x < bound; x += SPECIES.length()) {
+            IntVector base = IntVector.fromArray(SPECIES, src, row + x);
+            IntVector coolTap = IntVector.fromArray(SPECIES, src, row + x - offset);
+            IntVector warmTap = IntVector.fromArray(SPECIES, src, warmRow + x + offset);
+            IntVector result = base.and(0xFF000000);
+            for (int ch = 0; ch < 3; ch++) {
+                int shift = SHIFTS[ch];
+                IntVector channel = channel(base, shift);
+                IntVector cool = mul8(channel(coolTap, shift), coolTintKeep).add(coolAdd[ch]);
+                channel = mul8(cool, coolAlpha).add(mul8(channel, 255 - coolAlpha));
+                IntVector warm = mul8(channel(warmTap, shift), warmTintKeep).add(warmAdd[ch]);
+                channel = mul8(warm, warmAlpha).add(mul8(channel, 255 - warmAlpha));
+                result = result.or(channel.lanewise(VectorOperators.LSHL, shift));
+            }
+            result.intoArray(dst, row + x);
+        }
+        applySpan(src, dst, width, row, warmRow, true, x, width);
+    }
+
+    private static IntVector channel(IntVector pixels, int shift) {
+        return pixels.lanewise(VectorOperators.LSHR, shift).and(0xFF);
+    }
+
+    private static IntVector mul8(IntVector values, int factor) {
+        return values.mul(factor * 0x10101).add(0x800000).lanewise(VectorOperators.LSHR, 24);
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+}